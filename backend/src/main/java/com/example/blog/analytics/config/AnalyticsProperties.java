@@ -0,0 +1,29 @@
+package com.example.blog.analytics.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "analytics")
+public class AnalyticsProperties {
+
+    private Spool spool = new Spool();
+
+    /**
+     * Redis 不可用时阅读事件的本地暂存。
+     */
+    @Getter
+    @Setter
+    public static class Spool {
+
+        private String dir = System.getProperty("java.io.tmpdir") + "/blog-view-spool";
+        private DataSize segmentSize = DataSize.ofMegabytes(8);
+        /** 超过后新事件直接丢弃，防止 Redis 长时间不可用时写满磁盘 */
+        private int maxSegments = 32;
+    }
+}
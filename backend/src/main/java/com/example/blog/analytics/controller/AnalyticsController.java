@@ -1,12 +1,22 @@
 package com.example.blog.analytics.controller;
 
 import com.example.blog.analytics.dto.AnalyticsOverviewResponse;
+import com.example.blog.analytics.dto.AnalyticsOverviewResponse.HotPost;
+import com.example.blog.analytics.dto.DailyViewStat;
+import com.example.blog.analytics.dto.ViewSeriesResponse;
 import com.example.blog.analytics.service.AnalyticsService;
+import com.example.blog.analytics.service.TrendingService;
+import com.example.blog.analytics.service.ViewSeriesService;
 import com.example.blog.common.api.ApiResponse;
+import java.time.LocalDate;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -16,9 +26,39 @@ import org.springframework.web.bind.annotation.RestController;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final ViewSeriesService viewSeriesService;
+    private final TrendingService trendingService;
 
     @GetMapping("/overview")
     public ApiResponse<AnalyticsOverviewResponse> overview() {
         return ApiResponse.success(analyticsService.getOverview());
     }
+
+    @GetMapping("/posts/{postId}/daily")
+    public ApiResponse<List<DailyViewStat>> postDaily(
+            @PathVariable Long postId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ApiResponse.success(analyticsService.getPostDailyStats(postId, from, to));
+    }
+
+    /**
+     * @param granularity HOUR / DAY / MONTH，缺省时按区间长度选择最粗的合适粒度
+     */
+    @GetMapping("/series")
+    public ApiResponse<ViewSeriesResponse> series(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String granularity) {
+        return ApiResponse.success(viewSeriesService.getSeries(from, to, granularity));
+    }
+
+    /**
+     * @param window HOUR / DAY / WEEK 为按时间衰减的热度，ALL 为累计阅读量
+     */
+    @GetMapping("/trending")
+    public ApiResponse<List<HotPost>> trending(@RequestParam(required = false) String window,
+                                               @RequestParam(defaultValue = "10") int limit) {
+        return ApiResponse.success(trendingService.top(trendingService.parseWindow(window), limit));
+    }
 }
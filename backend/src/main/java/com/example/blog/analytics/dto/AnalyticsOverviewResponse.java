@@ -1,11 +1,12 @@
 package com.example.blog.analytics.dto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.Builder;
 import lombok.Getter;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class AnalyticsOverviewResponse {
 
     private final long todayPv;
@@ -13,6 +14,10 @@ public class AnalyticsOverviewResponse {
     private final long publishedPosts;
     private final long pendingComments;
     private final List<HotPost> hotPosts;
+    /** 快照生成时间 */
+    private final LocalDateTime generatedAt;
+    /** 返回时快照已存在的毫秒数 */
+    private final long ageMillis;
 
     @Getter
     @Builder
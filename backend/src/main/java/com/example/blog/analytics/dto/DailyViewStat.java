@@ -0,0 +1,14 @@
+package com.example.blog.analytics.dto;
+
+import java.time.LocalDate;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class DailyViewStat {
+
+    private final LocalDate date;
+    private final long pageViews;
+    private final long uniqueVisitors;
+}
@@ -0,0 +1,27 @@
+package com.example.blog.analytics.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ViewSeriesResponse {
+
+    private final Granularity granularity;
+    private final List<Point> points;
+
+    public enum Granularity {
+        HOUR, DAY, MONTH
+    }
+
+    @Getter
+    @Builder
+    public static class Point {
+        /** 时间桶的起点 */
+        private final LocalDateTime start;
+        private final long pageViews;
+        private final long uniqueVisitors;
+    }
+}
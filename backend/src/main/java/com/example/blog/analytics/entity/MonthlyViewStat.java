@@ -0,0 +1,34 @@
+package com.example.blog.analytics.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "view_stats_monthly")
+@Getter
+@Setter
+@NoArgsConstructor
+public class MonthlyViewStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 当月 1 日 */
+    @Column(name = "stat_month", nullable = false, unique = true)
+    private LocalDate statMonth;
+
+    @Column(name = "page_views", nullable = false)
+    private Long pageViews = 0L;
+
+    @Column(name = "unique_visitors", nullable = false)
+    private Long uniqueVisitors = 0L;
+}
@@ -0,0 +1,14 @@
+package com.example.blog.analytics.repository;
+
+import com.example.blog.analytics.entity.MonthlyViewStat;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MonthlyViewStatRepository extends JpaRepository<MonthlyViewStat, Long> {
+
+    Optional<MonthlyViewStat> findByStatMonth(LocalDate statMonth);
+
+    List<MonthlyViewStat> findByStatMonthBetweenOrderByStatMonthAsc(LocalDate from, LocalDate to);
+}
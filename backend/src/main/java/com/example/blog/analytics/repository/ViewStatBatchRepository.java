@@ -0,0 +1,44 @@
+package com.example.blog.analytics.repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 每日文章访问统计归档使用的批量 SQL。
+ */
+@Repository
+@RequiredArgsConstructor
+public class ViewStatBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 用一条多行 INSERT 写入同一天多篇文章的统计，已归档过的行（重跑）直接覆盖。
+     *
+     * @param rows 每行依次为文章 ID、PV、UV
+     */
+    public int upsertPostStats(LocalDate statDate, List<long[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO view_stats (stat_date, post_id, page_views, unique_visitors) VALUES ");
+        List<Object> args = new ArrayList<>(rows.size() * 4);
+        Date date = Date.valueOf(statDate);
+        for (int i = 0; i < rows.size(); i++) {
+            long[] row = rows.get(i);
+            sql.append(i == 0 ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+            args.add(date);
+            args.add(row[0]);
+            args.add(Math.min(Integer.MAX_VALUE, row[1]));
+            args.add(Math.min(Integer.MAX_VALUE, row[2]));
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE page_views = VALUES(page_views), unique_visitors = VALUES(unique_visitors)");
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
@@ -2,12 +2,22 @@ package com.example.blog.analytics.repository;
 
 import com.example.blog.analytics.entity.ViewStat;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ViewStatRepository extends JpaRepository<ViewStat, Long> {
 
     Optional<ViewStat> findByStatDateAndPostId(LocalDate statDate, Long postId);
 
     Optional<ViewStat> findByStatDateAndPostIsNull(LocalDate statDate);
+
+    List<ViewStat> findByPostIsNullAndStatDateBetweenOrderByStatDateAsc(LocalDate from, LocalDate to);
+
+    @Query("select coalesce(sum(v.pageViews), 0) from ViewStat v where v.post is null and v.statDate between :from and :to")
+    long sumSitePageViews(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    List<ViewStat> findByPostIdAndStatDateBetweenOrderByStatDateAsc(Long postId, LocalDate from, LocalDate to);
 }
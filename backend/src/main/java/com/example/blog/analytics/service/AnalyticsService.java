@@ -2,119 +2,159 @@ package com.example.blog.analytics.service;
 
 import com.example.blog.analytics.dto.AnalyticsOverviewResponse;
 import com.example.blog.analytics.dto.AnalyticsOverviewResponse.HotPost;
+import com.example.blog.analytics.dto.DailyViewStat;
+import com.example.blog.analytics.repository.ViewStatRepository;
+import com.example.blog.analytics.service.TrendingService.Window;
+import com.example.blog.analytics.service.ViewEventPipeline.ViewEvent;
 import com.example.blog.auth.util.SecurityUtils;
+import com.example.blog.common.enums.ErrorCode;
+import com.example.blog.common.exception.BusinessException;
+import com.example.blog.common.exception.ResourceNotFoundException;
 import com.example.blog.common.util.RequestUtils;
 import com.example.blog.content.dto.PostSummaryResponse;
-import com.example.blog.content.entity.Post;
 import com.example.blog.content.repository.CommentRepository;
 import com.example.blog.content.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
 import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.CollectionUtils;
 
 @Service
 @RequiredArgsConstructor
 public class AnalyticsService {
 
-    private static final String KEY_PV_DAILY = "pv:daily:";
-    private static final String KEY_UV_DAILY = "uv:daily:";
-    private static final String KEY_POST_RANKING = "post:ranking:views";
+    private static final int MAX_SERIES_DAYS = 366;
+    private static final int OVERVIEW_HOT_POSTS = 5;
+
+    static final String KEY_POST_RANKING = "post:ranking:views";
+    /** 每天一个 Hash：字段为文章 ID，值为当天 PV */
+    public static final String KEY_PV_POST_DAILY = "pv:post:daily:";
+    /** 每篇文章每天一个 HyperLogLog，见 {@link #postUvKey} */
+    public static final String KEY_UV_POST_DAILY = "uv:post:daily:";
 
     private final StringRedisTemplate redisTemplate;
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
+    private final ViewStatRepository viewStatRepository;
+    private final ViewEventFilter viewEventFilter;
+    private final ViewEventPipeline viewEventPipeline;
+    private final ViewSeriesService viewSeriesService;
+    private final TrendingService trendingService;
+
+    private final ExecutorService overviewExecutor = Executors.newFixedThreadPool(3, runnable -> {
+        Thread thread = new Thread(runnable, "analytics-overview");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile AnalyticsOverviewResponse overviewSnapshot;
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void recordPostView(Post post) {
-        if (post == null) {
+    /**
+     * 过滤爬虫并按访客去重后交给阅读事件管道，每个文章详情请求调用一次。
+     */
+    public void recordPostView(Long postId) {
+        if (postId == null) {
             return;
         }
         Long userId = SecurityUtils.getCurrentUserId();
         String visitor = userId != null ? "user:" + userId : "ip:" + RequestUtils.getClientIp();
-        LocalDate today = LocalDate.now();
-
-        redisTemplate.opsForValue().increment(KEY_PV_DAILY + today);
-        redisTemplate.expire(KEY_PV_DAILY + today, Duration.ofDays(2));
-
-        redisTemplate.opsForHyperLogLog().add(KEY_UV_DAILY + today, visitor);
-
-        redisTemplate.opsForZSet().incrementScore(KEY_POST_RANKING, post.getId().toString(), 1d);
-        postRepository.increaseViewCount(post.getId(), 1L);
+        if (!viewEventFilter.accept(postId, visitor, RequestUtils.getUserAgent())) {
+            return;
+        }
+        viewEventPipeline.offer(new ViewEvent(postId, visitor, LocalDateTime.now()));
     }
 
-    public AnalyticsOverviewResponse getOverview() {
-        LocalDate today = LocalDate.now();
-        long todayPv = getLongValue(KEY_PV_DAILY + today);
-        Long uvSize = redisTemplate.opsForHyperLogLog().size(KEY_UV_DAILY + today);
-        long todayUv = uvSize != null ? uvSize : 0L;
-        long totalPosts = postRepository.countByStatusAndDeletedAtIsNull("published");
-        long pendingComments = commentRepository.countByStatus("pending");
-
-        List<HotPost> hotPosts = buildHotPosts();
-
-        return AnalyticsOverviewResponse.builder()
-                .todayPv(todayPv)
-                .todayUv(todayUv)
-                .publishedPosts(totalPosts)
-                .pendingComments(pendingComments)
-                .hotPosts(hotPosts)
-                .build();
+    public static String postUvKey(LocalDate date, Long postId) {
+        return KEY_UV_POST_DAILY + date + ":" + postId;
     }
 
-    private long getLongValue(String key) {
-        String value = redisTemplate.opsForValue().get(key);
-        if (value == null) {
-            return 0L;
-        }
-        try {
-            return Long.parseLong(value);
-        } catch (NumberFormatException ex) {
-            return 0L;
+    /**
+     * 单篇文章在 [from, to] 内的每日 PV/UV：历史取自 view_stats，今天（及尚未归档的昨天）实时取自 Redis。
+     */
+    public List<DailyViewStat> getPostDailyStats(Long postId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to) || from.isBefore(to.minusDays(MAX_SERIES_DAYS))) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "时间范围无效，最多查询 " + MAX_SERIES_DAYS + " 天");
         }
-    }
-
-    private List<HotPost> buildHotPosts() {
-        Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet()
-                .reverseRangeWithScores(KEY_POST_RANKING, 0, 4);
-        if (CollectionUtils.isEmpty(tuples)) {
-            return List.of();
+        if (!postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("文章不存在");
         }
-        List<Long> ids = tuples.stream()
-                .map(ZSetOperations.TypedTuple::getValue)
-                .filter(value -> value != null && !value.isBlank())
-                .map(Long::valueOf)
-                .toList();
-        Map<Long, Post> postMap = postRepository.findAllById(ids).stream()
-                .collect(Collectors.toMap(Post::getId, p -> p));
-        List<HotPost> hotPosts = new ArrayList<>();
-        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
-            if (tuple.getValue() == null) {
+        Map<LocalDate, DailyViewStat> series = new TreeMap<>();
+        viewStatRepository.findByPostIdAndStatDateBetweenOrderByStatDateAsc(postId, from, to).forEach(stat ->
+                series.put(stat.getStatDate(), DailyViewStat.builder()
+                        .date(stat.getStatDate())
+                        .pageViews(stat.getPageViews())
+                        .uniqueVisitors(stat.getUniqueVisitors())
+                        .build()));
+        LocalDate today = LocalDate.now();
+        for (LocalDate day = today.minusDays(1); !day.isAfter(today); day = day.plusDays(1)) {
+            if (day.isBefore(from) || day.isAfter(to) || series.containsKey(day)) {
                 continue;
             }
-            Long postId = Long.valueOf(tuple.getValue());
-            Post post = postMap.get(postId);
-            if (post == null) {
+            Object pv = redisTemplate.opsForHash().get(KEY_PV_POST_DAILY + day, postId.toString());
+            if (pv == null) {
                 continue;
             }
-            hotPosts.add(HotPost.builder()
-                    .postId(postId)
-                    .title(post.getTitle())
-                    .slug(post.getSlug())
-                    .viewCount(post.getViewCount())
-                    .score(tuple.getScore() != null ? tuple.getScore().longValue() : 0L)
+            Long uv = redisTemplate.opsForHyperLogLog().size(postUvKey(day, postId));
+            series.put(day, DailyViewStat.builder()
+                    .date(day)
+                    .pageViews(Long.parseLong(pv.toString()))
+                    .uniqueVisitors(uv != null ? uv : 0L)
                     .build());
         }
-        return hotPosts;
+        return new ArrayList<>(series.values());
+    }
+
+    /**
+     * 返回后台定时刷新的概览快照及其时效；刚启动尚无快照时同步生成一次。
+     */
+    public AnalyticsOverviewResponse getOverview() {
+        AnalyticsOverviewResponse snapshot = overviewSnapshot;
+        if (snapshot == null) {
+            snapshot = refreshOverview();
+        }
+        return snapshot.toBuilder()
+                .ageMillis(Math.max(0L, Duration.between(snapshot.getGeneratedAt(), LocalDateTime.now()).toMillis()))
+                .build();
+    }
+
+    /**
+     * 重新生成概览快照：数据库计数与 Redis 读取并行进行，热门文章取自趋势榜的本机缓存。
+     * 任一来源失败时抛出异常，保留上一份快照。
+     */
+    public AnalyticsOverviewResponse refreshOverview() {
+        LocalDateTime generatedAt = LocalDateTime.now();
+        CompletableFuture<long[]> todayTotals = CompletableFuture.supplyAsync(
+                () -> viewSeriesService.countDay(generatedAt.toLocalDate()), overviewExecutor);
+        CompletableFuture<Long> publishedPosts = CompletableFuture.supplyAsync(
+                () -> postRepository.countByStatusAndDeletedAtIsNull("published"), overviewExecutor);
+        CompletableFuture<Long> pendingComments = CompletableFuture.supplyAsync(
+                () -> commentRepository.countByStatus("pending"), overviewExecutor);
+        List<HotPost> hotPosts = trendingService.top(Window.DAY, OVERVIEW_HOT_POSTS);
+
+        long[] totals = todayTotals.join();
+        AnalyticsOverviewResponse snapshot = AnalyticsOverviewResponse.builder()
+                .todayPv(totals[0])
+                .todayUv(totals[1])
+                .publishedPosts(publishedPosts.join())
+                .pendingComments(pendingComments.join())
+                .hotPosts(List.copyOf(hotPosts))
+                .generatedAt(generatedAt)
+                .build();
+        overviewSnapshot = snapshot;
+        return snapshot;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        overviewExecutor.shutdownNow();
     }
 }
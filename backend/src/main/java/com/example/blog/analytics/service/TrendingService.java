@@ -0,0 +1,181 @@
+package com.example.blog.analytics.service;
+
+import com.example.blog.analytics.dto.AnalyticsOverviewResponse.HotPost;
+import com.example.blog.common.enums.ErrorCode;
+import com.example.blog.common.exception.BusinessException;
+import com.example.blog.content.repository.PostRepository;
+import com.example.blog.content.repository.PostRepository.PostRef;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * 按时间衰减的热门文章榜。
+ * <p>
+ * 采用前向衰减：每次阅读按 {@code e^((t - t0) / τ)} 加权后 ZINCRBY，越新的阅读权重越大，
+ * 已有分数无需定时重算；τ 取窗口长度（1 小时 / 1 天 / 1 周）。为避免权重无限增长，
+ * 每 {@link #EPOCH_TAUS} 个 τ 换一个纪元 Key，读取时把上一纪元按 {@code e^-EPOCH_TAUS} 折算后合并。
+ * {@link Window#ALL} 为不衰减的累计阅读榜 {@code post:ranking:views}。
+ * <p>
+ * 榜单结果在本机缓存 {@link #RESULT_TTL}，避免每次概览请求都访问 Redis 和数据库。
+ */
+@Service
+@RequiredArgsConstructor
+public class TrendingService {
+
+    private static final String KEY_TRENDING = "post:trending:";
+    private static final int EPOCH_TAUS = 10;
+    private static final int BOARD_CAP = 1000;
+    private static final int MAX_LIMIT = 50;
+    private static final Duration RESULT_TTL = Duration.ofSeconds(10);
+
+    private final StringRedisTemplate redisTemplate;
+    private final PostRepository postRepository;
+
+    private final Map<String, CachedBoard> results = new ConcurrentHashMap<>();
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Window {
+        HOUR(Duration.ofHours(1)),
+        DAY(Duration.ofDays(1)),
+        WEEK(Duration.ofDays(7)),
+        ALL(null);
+
+        private final Duration tau;
+
+        private long epochMillis() {
+            return tau.toMillis() * EPOCH_TAUS;
+        }
+    }
+
+    /**
+     * 在调用方的 Pipeline 中为各衰减榜累加本批阅读量。
+     */
+    void increment(StringRedisConnection redis, Map<Long, Long> viewsByPost, long nowMillis) {
+        for (Window window : Window.values()) {
+            if (window == Window.ALL) {
+                continue;
+            }
+            long epoch = nowMillis / window.epochMillis();
+            double weight = Math.exp((double) (nowMillis - epoch * window.epochMillis()) / window.getTau().toMillis());
+            String key = key(window, epoch);
+            viewsByPost.forEach((postId, count) -> redis.zIncrBy(key, count * weight, postId.toString()));
+            redis.expire(key, Duration.ofMillis(window.epochMillis() * 2).toSeconds());
+        }
+    }
+
+    public Window parseWindow(String window) {
+        if (!StringUtils.hasText(window)) {
+            return Window.DAY;
+        }
+        try {
+            return Window.valueOf(window.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "不支持的时间窗口: " + window);
+        }
+    }
+
+    public List<HotPost> top(Window window, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        String cacheKey = window + ":" + size;
+        long now = System.currentTimeMillis();
+        CachedBoard cached = results.get(cacheKey);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.posts;
+        }
+        List<HotPost> posts = load(window, size, now);
+        results.put(cacheKey, new CachedBoard(posts, now + RESULT_TTL.toMillis()));
+        return posts;
+    }
+
+    /**
+     * 把当前纪元的各衰减榜裁剪到 {@link #BOARD_CAP} 名，由定时任务调用。
+     */
+    public void trim() {
+        long now = System.currentTimeMillis();
+        for (Window window : Window.values()) {
+            if (window != Window.ALL) {
+                redisTemplate.opsForZSet().removeRange(key(window, now / window.epochMillis()), 0, -(BOARD_CAP + 1));
+            }
+        }
+    }
+
+    /**
+     * 两个纪元各取 size 的若干倍候选后合并，分数折算为“截至当前的衰减阅读量”。
+     */
+    private List<HotPost> load(Window window, int size, long now) {
+        Map<Long, Double> scores = new HashMap<>();
+        long candidates = size * 4L;
+        if (window == Window.ALL) {
+            collect(scores, AnalyticsService.KEY_POST_RANKING, candidates, 1.0);
+        } else {
+            long epoch = now / window.epochMillis();
+            double decay = Math.exp(-(double) (now - epoch * window.epochMillis()) / window.getTau().toMillis());
+            collect(scores, key(window, epoch), candidates, decay);
+            collect(scores, key(window, epoch - 1), candidates, decay * Math.exp(-EPOCH_TAUS));
+        }
+        List<Map.Entry<Long, Double>> ranked = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()))
+                .toList();
+        Map<Long, PostRef> postMap = postRepository.findPublishedRefs(ranked.stream().map(Map.Entry::getKey).toList())
+                .stream()
+                .collect(Collectors.toMap(PostRef::getId, Function.identity()));
+        return ranked.stream()
+                .filter(entry -> postMap.containsKey(entry.getKey()))
+                .limit(size)
+                .map(entry -> {
+                    PostRef post = postMap.get(entry.getKey());
+                    return HotPost.builder()
+                            .postId(post.getId())
+                            .title(post.getTitle())
+                            .slug(post.getSlug())
+                            .viewCount(post.getViewCount())
+                            .score(Math.round(entry.getValue()))
+                            .build();
+                })
+                .toList();
+    }
+
+    private void collect(Map<Long, Double> scores, String key, long count, double factor) {
+        Set<TypedTuple<String>> tuples = redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, count - 1);
+        if (tuples == null) {
+            return;
+        }
+        for (TypedTuple<String> tuple : tuples) {
+            if (tuple.getValue() == null || tuple.getScore() == null) {
+                continue;
+            }
+            try {
+                scores.merge(Long.valueOf(tuple.getValue()), tuple.getScore() * factor, Double::sum);
+            } catch (NumberFormatException ignored) {
+                // 忽略非法成员
+            }
+        }
+    }
+
+    private String key(Window window, long epoch) {
+        return KEY_TRENDING + window.name().toLowerCase(Locale.ROOT) + ":" + epoch;
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedBoard {
+
+        private final List<HotPost> posts;
+        private final long expiresAt;
+    }
+}
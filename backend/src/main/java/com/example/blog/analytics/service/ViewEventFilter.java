@@ -0,0 +1,66 @@
+package com.example.blog.analytics.service;
+
+import com.example.blog.common.util.RotatingBloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 阅读事件入队前的过滤：丢弃爬虫请求，以及同一访客在去重窗口内对同一篇文章的重复阅读（刷新）。
+ * <p>
+ * 去重用本机内存中的轮换布隆过滤器，记住时长在 {@link #DEDUPE_WINDOW} 到其两倍之间，
+ * 多实例部署时各实例各自去重。指标：{@code blog.views.bot}、{@code blog.views.duplicate}。
+ */
+@Component
+@RequiredArgsConstructor
+public class ViewEventFilter {
+
+    private static final Pattern BOT_PATTERN = Pattern.compile(
+            "bot|crawl|spider|slurp|scrapy|curl|wget|python|java/|go-http-client|okhttp|httpclient|axios"
+                    + "|headless|phantomjs|lighthouse|preview|facebookexternalhit|monitor|uptime",
+            Pattern.CASE_INSENSITIVE);
+    private static final Duration DEDUPE_WINDOW = Duration.ofMinutes(30);
+    private static final int EXPECTED_VIEWS_PER_WINDOW = 200_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final MeterRegistry meterRegistry;
+
+    private final RotatingBloomFilter recentViews =
+            new RotatingBloomFilter(EXPECTED_VIEWS_PER_WINDOW, FALSE_POSITIVE_RATE, DEDUPE_WINDOW);
+    private Counter bots;
+    private Counter duplicates;
+
+    @PostConstruct
+    public void init() {
+        bots = meterRegistry.counter("blog.views.bot");
+        duplicates = meterRegistry.counter("blog.views.duplicate");
+    }
+
+    /**
+     * @param visitor   UV 统计使用的访客标识
+     * @param userAgent 为空或为 {@code unknown} 时按爬虫处理
+     * @return 是否应计入阅读量
+     */
+    public boolean accept(Long postId, String visitor, String userAgent) {
+        if (isBot(userAgent)) {
+            bots.increment();
+            return false;
+        }
+        // 匿名访客以 IP 区分，加上 UA 避免同一出口 IP 后的不同设备被当成重复
+        String key = postId + "|" + visitor + (visitor.startsWith("ip:") ? "|" + userAgent.hashCode() : "");
+        if (recentViews.checkAndPut(key)) {
+            duplicates.increment();
+            return false;
+        }
+        return true;
+    }
+
+    static boolean isBot(String userAgent) {
+        return !StringUtils.hasText(userAgent) || "unknown".equals(userAgent) || BOT_PATTERN.matcher(userAgent).find();
+    }
+}
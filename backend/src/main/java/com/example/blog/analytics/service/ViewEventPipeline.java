@@ -0,0 +1,243 @@
+package com.example.blog.analytics.service;
+
+import com.example.blog.common.util.CircuitBreaker;
+import com.example.blog.content.service.PostCounterService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 阅读事件的异步写入管道。
+ * <p>
+ * 请求线程只把事件放入有界队列（{@link #offer}），队列满时直接丢弃并计数，不阻塞请求；
+ * 后台线程按批取出事件，在内存中先按小时、按文章合并，再用一次 Pipeline 写入 Redis。
+ * Redis 写入前经过熔断器：连续失败或过慢时熔断，期间事件追加到本地暂存 {@link ViewEventSpool}，
+ * 恢复后按批回放。
+ * 指标：{@code blog.views.enqueued}、{@code blog.views.dropped}（队列满或暂存满丢弃）、
+ * {@code blog.views.failed}（写入 Redis 失败）、{@code blog.views.spooled}、{@code blog.views.replayed}、
+ * {@code blog.views.queue.size}、{@code blog.views.spool.segments}、{@code blog.views.redis.circuit.open}。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ViewEventPipeline {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPLAY_BATCHES = 10;
+    public static final Duration POST_DAILY_KEY_TTL = Duration.ofDays(2);
+
+    private final StringRedisTemplate redisTemplate;
+    private final PostCounterService postCounterService;
+    private final TrendingService trendingService;
+    private final ViewEventSpool spool;
+    private final MeterRegistry meterRegistry;
+
+    private final BlockingQueue<ViewEvent> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final CircuitBreaker redisBreaker = new CircuitBreaker(3, Duration.ofSeconds(10), Duration.ofMillis(500));
+    private Counter enqueued;
+    private Counter dropped;
+    private Counter failed;
+    private Counter spooled;
+    private Counter replayed;
+    private Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        enqueued = meterRegistry.counter("blog.views.enqueued");
+        dropped = meterRegistry.counter("blog.views.dropped");
+        failed = meterRegistry.counter("blog.views.failed");
+        spooled = meterRegistry.counter("blog.views.spooled");
+        replayed = meterRegistry.counter("blog.views.replayed");
+        Gauge.builder("blog.views.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("blog.views.spool.segments", spool, ViewEventSpool::segmentCount).register(meterRegistry);
+        Gauge.builder("blog.views.redis.circuit.open", redisBreaker,
+                breaker -> breaker.getState() == CircuitBreaker.State.CLOSED ? 0 : 1).register(meterRegistry);
+        running = true;
+        worker = new Thread(this::drainLoop, "view-event-pipeline");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        // 停机前把剩余事件写完
+        List<ViewEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            process(remaining);
+        }
+    }
+
+    /**
+     * @return 是否入队成功；队列已满时返回 false，事件被丢弃
+     */
+    public boolean offer(ViewEvent event) {
+        if (queue.offer(event)) {
+            enqueued.increment();
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    private void drainLoop() {
+        List<ViewEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (running) {
+            try {
+                ViewEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    replaySpool();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                process(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                // 暂存也失败（如磁盘不可写）时放弃本批，避免积压拖垮内存
+                dropped.increment(batch.size());
+                log.warn("处理阅读事件失败，丢弃 {} 条: {}", batch.size(), ex.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 文章阅读数先进本机计数缓冲，不依赖 Redis；Redis 写入失败或熔断时整批转入本地暂存。
+     */
+    private void process(List<ViewEvent> events) {
+        Map<Long, Long> viewsByPost = new HashMap<>();
+        events.forEach(event -> viewsByPost.merge(event.getPostId(), 1L, Long::sum));
+        viewsByPost.forEach(postCounterService::addViews);
+        if (!writeToRedis(events)) {
+            int written = spool.append(events);
+            spooled.increment(written);
+            if (written < events.size()) {
+                dropped.increment(events.size() - written);
+            }
+            return;
+        }
+        replaySpool();
+    }
+
+    /**
+     * Redis 恢复后按批回放暂存的事件，每轮最多 {@link #MAX_REPLAY_BATCHES} 批，避免占住管道线程。
+     */
+    private void replaySpool() {
+        try {
+            for (int i = 0; i < MAX_REPLAY_BATCHES && spool.hasPending(); i++) {
+                List<ViewEvent> events = spool.peek(BATCH_SIZE);
+                if (!events.isEmpty() && !writeToRedis(events)) {
+                    return;
+                }
+                spool.ack();
+                replayed.increment(events.size());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("回放阅读事件暂存失败: {}", ex.getMessage());
+        }
+    }
+
+    private boolean writeToRedis(List<ViewEvent> events) {
+        if (!redisBreaker.tryAcquire()) {
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            write(events);
+            redisBreaker.onSuccess(System.nanoTime() - start);
+            return true;
+        } catch (RuntimeException ex) {
+            redisBreaker.onFailure();
+            failed.increment(events.size());
+            log.warn("写入阅读事件到 Redis 失败，转入本地暂存 {} 条: {}", events.size(), ex.getMessage());
+            return false;
+        }
+    }
+
+    private void write(List<ViewEvent> events) {
+        Map<String, Long> pvByHour = new HashMap<>();
+        Map<String, Set<String>> visitorsByHour = new HashMap<>();
+        Map<Long, Long> viewsByPost = new HashMap<>();
+        Map<LocalDate, Map<Long, Long>> postPvByDay = new HashMap<>();
+        Map<String, Set<String>> postVisitors = new HashMap<>();
+        for (ViewEvent event : events) {
+            String hour = ViewSeriesService.hourSuffix(event.getViewedAt());
+            pvByHour.merge(hour, 1L, Long::sum);
+            visitorsByHour.computeIfAbsent(hour, key -> new HashSet<>()).add(event.getVisitor());
+            viewsByPost.merge(event.getPostId(), 1L, Long::sum);
+            postPvByDay.computeIfAbsent(event.getDate(), day -> new HashMap<>()).merge(event.getPostId(), 1L, Long::sum);
+            postVisitors.computeIfAbsent(AnalyticsService.postUvKey(event.getDate(), event.getPostId()),
+                    key -> new HashSet<>()).add(event.getVisitor());
+        }
+        long now = System.currentTimeMillis();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            pvByHour.forEach((hour, count) -> {
+                String key = ViewSeriesService.KEY_PV_HOURLY + hour;
+                redis.incrBy(key, count);
+                redis.expire(key, ViewSeriesService.HOURLY_KEY_TTL.toSeconds());
+            });
+            visitorsByHour.forEach((hour, visitors) -> {
+                String key = ViewSeriesService.KEY_UV_HOURLY + hour;
+                redis.pfAdd(key, visitors.toArray(new String[0]));
+                redis.expire(key, ViewSeriesService.HOURLY_KEY_TTL.toSeconds());
+            });
+            viewsByPost.forEach((postId, count) ->
+                    redis.zIncrBy(AnalyticsService.KEY_POST_RANKING, count, postId.toString()));
+            trendingService.increment(redis, viewsByPost, now);
+            postPvByDay.forEach((day, counts) -> {
+                String key = AnalyticsService.KEY_PV_POST_DAILY + day;
+                counts.forEach((postId, count) -> redis.hIncrBy(key, postId.toString(), count));
+                redis.expire(key, POST_DAILY_KEY_TTL.toSeconds());
+            });
+            postVisitors.forEach((key, visitors) -> {
+                redis.pfAdd(key, visitors.toArray(new String[0]));
+                redis.expire(key, POST_DAILY_KEY_TTL.toSeconds());
+            });
+            return null;
+        });
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class ViewEvent {
+
+        private final Long postId;
+        private final String visitor;
+        private final LocalDateTime viewedAt;
+
+        public LocalDate getDate() {
+            return viewedAt.toLocalDate();
+        }
+    }
+}
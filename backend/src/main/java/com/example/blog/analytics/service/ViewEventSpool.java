@@ -0,0 +1,216 @@
+package com.example.blog.analytics.service;
+
+import com.example.blog.analytics.config.AnalyticsProperties;
+import com.example.blog.analytics.service.ViewEventPipeline.ViewEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 阅读事件的本地磁盘暂存，Redis 不可用时由 {@link ViewEventPipeline} 写入、恢复后按批回放。
+ * <p>
+ * 事件以 {@code postId \t visitor \t viewedAt \n} 追加到内存映射的定长分段文件，写满后封存并新开一段；
+ * 未写到的部分保持为 0，读取到第一个 0 字节即视为段尾，因此进程崩溃后已写入的事件仍可恢复。
+ * 回放从最旧的段开始，整段回放完才删除文件；回放中途失败会从上次确认的位置继续，
+ * 但进程在回放中途重启时该段会整体重放（至少一次）。只由管道线程访问。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ViewEventSpool {
+
+    private static final String SEGMENT_PREFIX = "views-";
+    private static final String SEGMENT_SUFFIX = ".spool";
+
+    private final AnalyticsProperties properties;
+
+    private final Deque<Path> sealed = new ArrayDeque<>();
+    private Path directory;
+    private long nextSequence;
+    private Path activePath;
+    private MappedByteBuffer active;
+
+    private Path replayingPath;
+    private byte[] replaying;
+    private int replayPosition;
+    private int pendingPosition;
+
+    @PostConstruct
+    public void init() throws IOException {
+        directory = Paths.get(properties.getSpool().getDir());
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> path.getFileName().toString().matches(SEGMENT_PREFIX + "\\d+" + SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(this::sequenceOf))
+                    .forEach(sealed::addLast);
+        }
+        nextSequence = sealed.isEmpty() ? 0L : sequenceOf(sealed.peekLast()) + 1;
+        if (!sealed.isEmpty()) {
+            log.info("发现 {} 个待回放的阅读事件暂存段", sealed.size());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (active != null) {
+            active.force();
+        }
+    }
+
+    /**
+     * @return 实际写入的事件数；暂存已满时剩余事件被丢弃
+     */
+    public synchronized int append(List<ViewEvent> events) {
+        int written = 0;
+        for (ViewEvent event : events) {
+            byte[] record = encode(event);
+            if (active == null || active.remaining() < record.length) {
+                if (!rotate(record.length)) {
+                    break;
+                }
+            }
+            active.put(record);
+            written++;
+        }
+        return written;
+    }
+
+    public synchronized boolean hasPending() {
+        return replaying != null || !sealed.isEmpty() || (active != null && active.position() > 0);
+    }
+
+    public synchronized int segmentCount() {
+        return sealed.size() + (active != null ? 1 : 0) + (replaying != null ? 1 : 0);
+    }
+
+    /**
+     * 读取下一批待回放事件，不移动回放位置；处理成功后调用 {@link #ack}。
+     */
+    public synchronized List<ViewEvent> peek(int max) {
+        if (replaying == null && !openNextForReplay()) {
+            return List.of();
+        }
+        List<ViewEvent> events = new ArrayList<>(max);
+        int position = replayPosition;
+        while (events.size() < max && position < replaying.length && replaying[position] != 0) {
+            int end = position;
+            while (end < replaying.length && replaying[end] != '\n' && replaying[end] != 0) {
+                end++;
+            }
+            ViewEvent event = decode(new String(replaying, position, end - position, StandardCharsets.UTF_8));
+            if (event != null) {
+                events.add(event);
+            }
+            position = Math.min(end + 1, replaying.length);
+        }
+        pendingPosition = position;
+        return events;
+    }
+
+    public synchronized void ack() {
+        if (replaying == null) {
+            return;
+        }
+        replayPosition = pendingPosition;
+        if (replayPosition >= replaying.length || replaying[replayPosition] == 0) {
+            try {
+                Files.deleteIfExists(replayingPath);
+            } catch (IOException ex) {
+                log.warn("删除已回放的暂存段失败: {}", replayingPath, ex);
+            }
+            replaying = null;
+            replayingPath = null;
+            replayPosition = 0;
+        }
+    }
+
+    private boolean openNextForReplay() {
+        if (sealed.isEmpty() && active != null && active.position() > 0) {
+            seal();
+        }
+        Path next = sealed.pollFirst();
+        if (next == null) {
+            return false;
+        }
+        try {
+            replaying = Files.readAllBytes(next);
+        } catch (IOException ex) {
+            sealed.addFirst(next);
+            throw new UncheckedIOException(ex);
+        }
+        replayingPath = next;
+        replayPosition = 0;
+        pendingPosition = 0;
+        return true;
+    }
+
+    private boolean rotate(int recordLength) {
+        if (active != null) {
+            seal();
+        }
+        int segmentSize = (int) properties.getSpool().getSegmentSize().toBytes();
+        if (recordLength > segmentSize || segmentCount() >= properties.getSpool().getMaxSegments()) {
+            return false;
+        }
+        Path path = directory.resolve(SEGMENT_PREFIX + nextSequence++ + SEGMENT_SUFFIX);
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // 映射在通道关闭后依然有效
+            active = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            activePath = path;
+            return true;
+        } catch (IOException ex) {
+            log.warn("创建阅读事件暂存段失败: {}", path, ex);
+            active = null;
+            activePath = null;
+            return false;
+        }
+    }
+
+    private void seal() {
+        active.force();
+        sealed.addLast(activePath);
+        active = null;
+        activePath = null;
+    }
+
+    private long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static byte[] encode(ViewEvent event) {
+        String visitor = event.getVisitor().replace('\t', ' ').replace('\n', ' ').replace('\0', ' ');
+        return (event.getPostId() + "\t" + visitor + "\t" + event.getViewedAt() + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ViewEvent decode(String line) {
+        String[] parts = line.split("\t", 3);
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            return new ViewEvent(Long.valueOf(parts[0]), parts[1], LocalDateTime.parse(parts[2]));
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+}
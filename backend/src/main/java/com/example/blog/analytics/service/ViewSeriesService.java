@@ -0,0 +1,275 @@
+package com.example.blog.analytics.service;
+
+import com.example.blog.analytics.dto.ViewSeriesResponse;
+import com.example.blog.analytics.dto.ViewSeriesResponse.Granularity;
+import com.example.blog.analytics.dto.ViewSeriesResponse.Point;
+import com.example.blog.analytics.entity.MonthlyViewStat;
+import com.example.blog.analytics.entity.ViewStat;
+import com.example.blog.analytics.repository.MonthlyViewStatRepository;
+import com.example.blog.analytics.repository.ViewStatRepository;
+import com.example.blog.common.enums.ErrorCode;
+import com.example.blog.common.exception.BusinessException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+/**
+ * 站点访问量的三级时间序列。
+ * <p>
+ * 阅读事件只写入小时粒度的 Redis Key（PV 计数 + UV HyperLogLog，保留 {@link #HOURLY_KEY_TTL}）；
+ * 每天凌晨把前一天的 24 个小时 Key 汇总成一行日统计写入 view_stats，
+ * 同时把小时 HyperLogLog 合并进当月的 HyperLogLog，刷新 view_stats_monthly 中当月的数据。
+ * UV 始终通过 HyperLogLog 合并求得，不做相加。
+ * <p>
+ * 查询按覆盖区间的最粗粒度作答：两天内按小时，三个月内按天，更长按月；今天（及尚未汇总的昨天）实时取自 Redis。
+ * <p>
+ * 按天计算时同时读取改为小时 Key 之前的 {@code pv:daily:}/{@code uv:daily:} Key，
+ * 切换前一天和切换当天已记录的访问不会在首次汇总中丢失；这些旧 Key 自带过期时间，过期后读到的是空值。
+ */
+@Service
+@RequiredArgsConstructor
+public class ViewSeriesService {
+
+    static final String KEY_PV_HOURLY = "pv:hourly:";
+    static final String KEY_UV_HOURLY = "uv:hourly:";
+    private static final String KEY_UV_MONTHLY = "uv:monthly:";
+    private static final String KEY_PV_DAILY_LEGACY = "pv:daily:";
+    private static final String KEY_UV_DAILY_LEGACY = "uv:daily:";
+    static final Duration HOURLY_KEY_TTL = Duration.ofDays(8);
+    private static final Duration MONTHLY_KEY_TTL = Duration.ofDays(40);
+    private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH");
+
+    private static final int MAX_HOURLY_DAYS = 7;
+    private static final int MAX_DAILY_DAYS = 366;
+    private static final int MAX_MONTHS = 120;
+    private static final int AUTO_HOURLY_DAYS = 2;
+    private static final int AUTO_DAILY_DAYS = 92;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ViewStatRepository viewStatRepository;
+    private final MonthlyViewStatRepository monthlyViewStatRepository;
+
+    static String hourSuffix(LocalDateTime time) {
+        return HOUR_FORMAT.format(time);
+    }
+
+    /**
+     * @param granularity 为空时按区间长度自动选择
+     */
+    public ViewSeriesResponse getSeries(LocalDate from, LocalDate to, String granularity) {
+        if (from.isAfter(to)) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "开始日期不能晚于结束日期");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        Granularity resolved = resolveGranularity(granularity, days);
+        List<Point> points = switch (resolved) {
+            case HOUR -> {
+                if (days > MAX_HOURLY_DAYS || from.isBefore(LocalDate.now().minusDays(MAX_HOURLY_DAYS))) {
+                    throw new BusinessException(ErrorCode.BAD_REQUEST, "按小时只能查询最近 " + MAX_HOURLY_DAYS + " 天");
+                }
+                yield hourlyPoints(from, to);
+            }
+            case DAY -> {
+                if (days > MAX_DAILY_DAYS) {
+                    throw new BusinessException(ErrorCode.BAD_REQUEST, "按天最多查询 " + MAX_DAILY_DAYS + " 天");
+                }
+                yield dailyPoints(from, to);
+            }
+            case MONTH -> {
+                if (ChronoUnit.MONTHS.between(YearMonth.from(from), YearMonth.from(to)) >= MAX_MONTHS) {
+                    throw new BusinessException(ErrorCode.BAD_REQUEST, "按月最多查询 " + MAX_MONTHS + " 个月");
+                }
+                yield monthlyPoints(YearMonth.from(from), YearMonth.from(to));
+            }
+        };
+        return ViewSeriesResponse.builder()
+                .granularity(resolved)
+                .points(points)
+                .build();
+    }
+
+    /**
+     * 由小时 Key 实时计算某天的 PV 与 UV（多个 HyperLogLog 的并集基数）。
+     *
+     * @return 依次为 PV、UV
+     */
+    public long[] countDay(LocalDate day) {
+        List<String> pvKeys = new ArrayList<>(keys(KEY_PV_HOURLY, hoursOf(day, day)));
+        pvKeys.add(KEY_PV_DAILY_LEGACY + day);
+        List<String> values = redisTemplate.opsForValue().multiGet(pvKeys);
+        long pv = 0L;
+        if (values != null) {
+            for (String value : values) {
+                pv += parseLong(value);
+            }
+        }
+        Long uv = redisTemplate.opsForHyperLogLog().size(uvKeysOfDay(day));
+        return new long[]{pv, uv != null ? uv : 0L};
+    }
+
+    /**
+     * 把某天的小时数据汇总为日统计，并刷新所在月份的月统计。重复执行结果相同。
+     */
+    @Transactional
+    public void rollupDay(LocalDate day) {
+        long[] totals = countDay(day);
+        ViewStat daily = viewStatRepository.findByStatDateAndPostIsNull(day).orElseGet(ViewStat::new);
+        daily.setStatDate(day);
+        daily.setPost(null);
+        daily.setPageViews((int) Math.min(Integer.MAX_VALUE, totals[0]));
+        daily.setUniqueVisitors((int) Math.min(Integer.MAX_VALUE, totals[1]));
+        viewStatRepository.save(daily);
+
+        YearMonth month = YearMonth.from(day);
+        String monthlyKey = KEY_UV_MONTHLY + month;
+        redisTemplate.opsForHyperLogLog().union(monthlyKey, uvKeysOfDay(day));
+        redisTemplate.expire(monthlyKey, MONTHLY_KEY_TTL);
+        Long monthlyUv = redisTemplate.opsForHyperLogLog().size(monthlyKey);
+
+        MonthlyViewStat monthly = monthlyViewStatRepository.findByStatMonth(month.atDay(1)).orElseGet(MonthlyViewStat::new);
+        monthly.setStatMonth(month.atDay(1));
+        monthly.setPageViews(viewStatRepository.sumSitePageViews(month.atDay(1), month.atEndOfMonth()));
+        // 迁移回填的历史月份 UV 是下限估计，当月 HyperLogLog 只覆盖切换之后的日子，取两者较大值
+        long existingUv = monthly.getUniqueVisitors() != null ? monthly.getUniqueVisitors() : 0L;
+        monthly.setUniqueVisitors(Math.max(existingUv, monthlyUv != null ? monthlyUv : 0L));
+        monthlyViewStatRepository.save(monthly);
+    }
+
+    private Granularity resolveGranularity(String granularity, long days) {
+        if (StringUtils.hasText(granularity)) {
+            try {
+                return Granularity.valueOf(granularity.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new BusinessException(ErrorCode.BAD_REQUEST, "不支持的粒度: " + granularity);
+            }
+        }
+        if (days <= AUTO_HOURLY_DAYS) {
+            return Granularity.HOUR;
+        }
+        return days <= AUTO_DAILY_DAYS ? Granularity.DAY : Granularity.MONTH;
+    }
+
+    private List<Point> hourlyPoints(LocalDate from, LocalDate to) {
+        List<LocalDateTime> hours = hoursOf(from, to);
+        List<String> pvKeys = keys(KEY_PV_HOURLY, hours);
+        List<String> uvKeys = keys(KEY_UV_HOURLY, hours);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            pvKeys.forEach(redis::get);
+            uvKeys.forEach(redis::pfCount);
+            return null;
+        });
+        List<Point> points = new ArrayList<>(hours.size());
+        for (int i = 0; i < hours.size(); i++) {
+            Object pv = results.get(i);
+            Object uv = results.get(hours.size() + i);
+            points.add(Point.builder()
+                    .start(hours.get(i))
+                    .pageViews(pv != null ? parseLong(pv.toString()) : 0L)
+                    .uniqueVisitors(uv instanceof Number number ? number.longValue() : 0L)
+                    .build());
+        }
+        return points;
+    }
+
+    private List<Point> dailyPoints(LocalDate from, LocalDate to) {
+        Map<LocalDate, ViewStat> archived = new HashMap<>();
+        viewStatRepository.findByPostIsNullAndStatDateBetweenOrderByStatDateAsc(from, to)
+                .forEach(stat -> archived.put(stat.getStatDate(), stat));
+        LocalDate today = LocalDate.now();
+        List<Point> points = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            ViewStat stat = archived.get(day);
+            long pv = 0L;
+            long uv = 0L;
+            if (stat != null) {
+                pv = stat.getPageViews();
+                uv = stat.getUniqueVisitors();
+            } else if (!day.isBefore(today.minusDays(1)) && !day.isAfter(today)) {
+                long[] totals = countDay(day);
+                pv = totals[0];
+                uv = totals[1];
+            }
+            points.add(Point.builder()
+                    .start(day.atStartOfDay())
+                    .pageViews(pv)
+                    .uniqueVisitors(uv)
+                    .build());
+        }
+        return points;
+    }
+
+    /**
+     * 当月的月统计只汇总到昨天，再叠加今天的实时数据；UV 用当月与今天各小时 HyperLogLog 的并集基数。
+     */
+    private List<Point> monthlyPoints(YearMonth from, YearMonth to) {
+        Map<LocalDate, MonthlyViewStat> archived = new HashMap<>();
+        monthlyViewStatRepository.findByStatMonthBetweenOrderByStatMonthAsc(from.atDay(1), to.atDay(1))
+                .forEach(stat -> archived.put(stat.getStatMonth(), stat));
+        LocalDate today = LocalDate.now();
+        YearMonth current = YearMonth.from(today);
+        List<Point> points = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            MonthlyViewStat stat = archived.get(month.atDay(1));
+            long pv = stat != null ? stat.getPageViews() : 0L;
+            long uv = stat != null ? stat.getUniqueVisitors() : 0L;
+            if (month.equals(current)) {
+                pv += countDay(today)[0];
+                List<String> uvKeys = new ArrayList<>(keys(KEY_UV_HOURLY, hoursOf(today, today)));
+                uvKeys.add(KEY_UV_MONTHLY + month);
+                Long merged = redisTemplate.opsForHyperLogLog().size(uvKeys.toArray(new String[0]));
+                uv = Math.max(uv, merged != null ? merged : 0L);
+            }
+            points.add(Point.builder()
+                    .start(month.atDay(1).atStartOfDay())
+                    .pageViews(pv)
+                    .uniqueVisitors(uv)
+                    .build());
+        }
+        return points;
+    }
+
+    private String[] uvKeysOfDay(LocalDate day) {
+        List<String> uvKeys = new ArrayList<>(keys(KEY_UV_HOURLY, hoursOf(day, day)));
+        uvKeys.add(KEY_UV_DAILY_LEGACY + day);
+        return uvKeys.toArray(new String[0]);
+    }
+
+    private List<LocalDateTime> hoursOf(LocalDate from, LocalDate to) {
+        List<LocalDateTime> hours = new ArrayList<>();
+        for (LocalDateTime hour = from.atStartOfDay(); hour.isBefore(to.plusDays(1).atStartOfDay()); hour = hour.plusHours(1)) {
+            hours.add(hour);
+        }
+        return hours;
+    }
+
+    private List<String> keys(String prefix, List<LocalDateTime> hours) {
+        return hours.stream().map(hour -> prefix + hourSuffix(hour)).toList();
+    }
+
+    private long parseLong(String value) {
+        if (value == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            return 0L;
+        }
+    }
+}
@@ -1,59 +1,141 @@
 package com.example.blog.analytics.task;
 
-import com.example.blog.analytics.entity.ViewStat;
-import com.example.blog.analytics.repository.ViewStatRepository;
+import com.example.blog.analytics.repository.ViewStatBatchRepository;
+import com.example.blog.analytics.service.AnalyticsService;
+import com.example.blog.analytics.service.TrendingService;
+import com.example.blog.analytics.service.ViewEventPipeline;
+import com.example.blog.analytics.service.ViewSeriesService;
+import com.example.blog.common.service.ScheduledJobRunner;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class AnalyticsScheduler {
 
-    private static final String KEY_PV_DAILY = "pv:daily:";
-    private static final String KEY_UV_DAILY = "uv:daily:";
     private static final String KEY_POST_RANKING = "post:ranking:views";
+    private static final String KEY_LAST_ARCHIVED_DAY = "analytics:archive:last-day";
+    private static final int ARCHIVE_CHUNK = 500;
 
     private final StringRedisTemplate redisTemplate;
-    private final ViewStatRepository viewStatRepository;
+    private final ViewStatBatchRepository viewStatBatchRepository;
+    private final ViewSeriesService viewSeriesService;
+    private final AnalyticsService analyticsService;
+    private final TrendingService trendingService;
+    private final ScheduledJobRunner scheduledJobRunner;
 
+    /**
+     * 从上次归档的次日起逐天归档到昨天，漏跑（停机、失败、未取得租约）的日子在下次执行时补上。
+     * 文章日 Key 只保留 {@link ViewEventPipeline#POST_DAILY_KEY_TTL}，更早的日子已无数据可归档。
+     * 某天失败时停在该天，不记录进度。
+     */
     @Scheduled(cron = "0 5 0 * * ?")
     public void archiveDailyMetrics() {
-        LocalDate target = LocalDate.now().minusDays(1);
-        String pvKey = KEY_PV_DAILY + target;
-        String uvKey = KEY_UV_DAILY + target;
-        long pv = parseLong(redisTemplate.opsForValue().get(pvKey));
-        Long uvSize = redisTemplate.opsForHyperLogLog().size(uvKey);
-        long uv = uvSize != null ? uvSize : 0L;
-        if (pv == 0 && uv == 0) {
-            cleanupKey(pvKey);
-            cleanupKey(uvKey);
-            return;
+        scheduledJobRunner.runExclusive("analytics-archive", Duration.ofMinutes(30), Duration.ofMinutes(10), () -> {
+            LocalDate yesterday = LocalDate.now().minusDays(1);
+            LocalDate earliest = LocalDate.now().minusDays(ViewEventPipeline.POST_DAILY_KEY_TTL.toDays());
+            LocalDate lastArchived = readLastArchivedDay();
+            LocalDate from = lastArchived != null && lastArchived.isAfter(earliest) ? lastArchived.plusDays(1) : earliest;
+            for (LocalDate day = from; !day.isAfter(yesterday); day = day.plusDays(1)) {
+                archivePostMetrics(day);
+                viewSeriesService.rollupDay(day);
+                redisTemplate.opsForValue().set(KEY_LAST_ARCHIVED_DAY, day.toString());
+            }
+        });
+    }
+
+    private LocalDate readLastArchivedDay() {
+        String value = redisTemplate.opsForValue().get(KEY_LAST_ARCHIVED_DAY);
+        try {
+            return value != null ? LocalDate.parse(value) : null;
+        } catch (DateTimeParseException ex) {
+            return null;
         }
-        ViewStat stat = viewStatRepository.findByStatDateAndPostIsNull(target)
-                .orElseGet(ViewStat::new);
-        stat.setStatDate(target);
-        stat.setPost(null);
-        stat.setPageViews((int) Math.min(Integer.MAX_VALUE, pv));
-        stat.setUniqueVisitors((int) Math.min(Integer.MAX_VALUE, uv));
-        viewStatRepository.save(stat);
-        cleanupKey(pvKey);
-        cleanupKey(uvKey);
+    }
+
+    /**
+     * 归档前一天每篇文章的 PV/UV：按批扫描当天的 PV Hash，Pipeline 读取对应的 HyperLogLog 基数，
+     * 再用一条多行 upsert 写入 view_stats。全部写入后才删除 Redis 数据，中途失败时下次执行会重跑这一天。
+     */
+    private void archivePostMetrics(LocalDate target) {
+        String pvKey = AnalyticsService.KEY_PV_POST_DAILY + target;
+        List<String> uvKeys = new ArrayList<>();
+        int archived = 0;
+        List<long[]> chunk = new ArrayList<>(ARCHIVE_CHUNK);
+        try (Cursor<Map.Entry<Object, Object>> cursor = redisTemplate.opsForHash()
+                .scan(pvKey, ScanOptions.scanOptions().count(ARCHIVE_CHUNK).build())) {
+            while (cursor.hasNext()) {
+                Map.Entry<Object, Object> entry = cursor.next();
+                chunk.add(new long[]{parseLong(entry.getKey().toString()), parseLong(entry.getValue().toString()), 0L});
+                if (chunk.size() == ARCHIVE_CHUNK) {
+                    archived += archivePostChunk(target, chunk, uvKeys);
+                    chunk.clear();
+                }
+            }
+        }
+        archived += archivePostChunk(target, chunk, uvKeys);
+        uvKeys.add(pvKey);
+        redisTemplate.unlink(uvKeys);
+        log.info("归档 {} 文章访问统计 {} 条", target, archived);
+    }
+
+    private int archivePostChunk(LocalDate target, List<long[]> chunk, List<String> uvKeys) {
+        chunk.removeIf(row -> row[0] <= 0);
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<String> keys = chunk.stream().map(row -> AnalyticsService.postUvKey(target, row[0])).toList();
+        List<Object> counts = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            keys.forEach(redis::pfCount);
+            return null;
+        });
+        for (int i = 0; i < chunk.size(); i++) {
+            Object count = counts.get(i);
+            chunk.get(i)[2] = count instanceof Number number ? number.longValue() : 0L;
+        }
+        viewStatBatchRepository.upsertPostStats(target, chunk);
+        uvKeys.addAll(keys);
+        return chunk.size();
     }
 
     @Scheduled(cron = "0 0 * * * ?")
     public void trimRankingBoard() {
-        Long size = redisTemplate.opsForZSet().size(KEY_POST_RANKING);
-        if (size == null || size <= 100) {
-            return;
-        }
-        redisTemplate.opsForZSet().removeRange(KEY_POST_RANKING, 0, size - 101);
+        scheduledJobRunner.runExclusive("ranking-trim", Duration.ofMinutes(5), Duration.ofMinutes(1), () -> {
+            Long size = redisTemplate.opsForZSet().size(KEY_POST_RANKING);
+            if (size == null || size <= 100) {
+                return;
+            }
+            redisTemplate.opsForZSet().removeRange(KEY_POST_RANKING, 0, size - 101);
+        });
+    }
+
+    /**
+     * 概览快照保存在每个节点的内存中，各节点都要刷新；失败时保留上一份快照。
+     */
+    @Scheduled(fixedDelay = 5000L, initialDelay = 5000L)
+    public void refreshOverview() {
+        scheduledJobRunner.run("analytics-overview-refresh", analyticsService::refreshOverview);
     }
 
-    private void cleanupKey(String key) {
-        redisTemplate.delete(key);
+    @Scheduled(cron = "0 30 * * * ?")
+    public void trimTrendingBoards() {
+        scheduledJobRunner.runExclusive("trending-trim", Duration.ofMinutes(5), Duration.ofMinutes(1),
+                trendingService::trim);
     }
 
     private long parseLong(String value) {
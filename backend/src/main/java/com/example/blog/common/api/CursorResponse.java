@@ -0,0 +1,15 @@
+package com.example.blog.common.api;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class CursorResponse<T> {
+    private final List<T> records;
+    /** 下一页游标，没有更多数据时为 null */
+    private final String nextCursor;
+    private final boolean hasMore;
+}
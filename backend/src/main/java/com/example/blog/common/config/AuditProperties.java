@@ -0,0 +1,31 @@
+package com.example.blog.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "audit")
+public class AuditProperties {
+
+    private Retention retention = new Retention();
+
+    /**
+     * 审计日志的保留与归档。
+     */
+    @Getter
+    @Setter
+    public static class Retention {
+
+        /** 早于该天数的日志归档后从表中移除，不大于 0 时不清理 */
+        private int days = 180;
+        /** 归档文件是清理后唯一的副本，必须指向持久化磁盘；未配置时拒绝清理 */
+        private String archiveDir;
+        /** 提前建好的月份分区数 */
+        private int partitionsAhead = 3;
+        private int chunkSize = 1000;
+    }
+}
@@ -3,6 +3,10 @@ package com.example.blog.common.config;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+/**
+ * 调度线程池大小见 {@code spring.task.scheduling}；集群互斥与任务指标见
+ * {@link com.example.blog.common.service.ScheduledJobRunner}。
+ */
 @Configuration
 @EnableScheduling
 public class SchedulerConfig {
@@ -0,0 +1,49 @@
+package com.example.blog.common.controller;
+
+import com.example.blog.common.api.ApiResponse;
+import com.example.blog.common.api.CursorResponse;
+import com.example.blog.common.dto.AuditLogQuery;
+import com.example.blog.common.dto.AuditLogResponse;
+import com.example.blog.common.service.AuditLogQueryService;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/audit")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AuditLogController {
+
+    private final AuditLogQueryService auditLogQueryService;
+
+    /**
+     * @param entityId 需要同时指定 entityType
+     */
+    @GetMapping
+    public ApiResponse<CursorResponse<AuditLogResponse>> list(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        AuditLogQuery query = AuditLogQuery.builder()
+                .userId(userId)
+                .action(StringUtils.hasText(action) ? action.trim() : null)
+                .entityType(StringUtils.hasText(entityType) ? entityType.trim() : null)
+                .entityId(entityId)
+                .from(from)
+                .to(to)
+                .build();
+        return ApiResponse.success(auditLogQueryService.list(query, cursor, size));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.blog.common.controller;
+
+import com.example.blog.common.api.ApiResponse;
+import com.example.blog.common.dto.SensitiveWordRequest;
+import com.example.blog.common.service.SensitiveWordDictionaryService;
+import jakarta.validation.Valid;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/sensitive-words")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class SensitiveWordController {
+
+    private final SensitiveWordDictionaryService dictionaryService;
+
+    @GetMapping
+    public ApiResponse<List<String>> list() {
+        return ApiResponse.success(dictionaryService.getWords());
+    }
+
+    @PutMapping
+    public ApiResponse<Void> update(@Valid @RequestBody SensitiveWordRequest request) {
+        dictionaryService.update(request.getWords());
+        return ApiResponse.success();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.blog.common.dto;
+
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 审计日志查询条件，为空的条件不参与过滤；时间区间为 [from, to)。
+ */
+@Getter
+@Builder
+public class AuditLogQuery {
+
+    private final Long userId;
+    private final String action;
+    private final String entityType;
+    private final Long entityId;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+}
@@ -0,0 +1,23 @@
+package com.example.blog.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class AuditLogResponse {
+
+    private final Long id;
+    private final Long userId;
+    private final String action;
+    private final String entityType;
+    private final Long entityId;
+    /** 数据库中的 JSON 原样输出，不在服务端解析 */
+    @JsonRawValue
+    private final String changes;
+    private final String ipAddress;
+    private final String userAgent;
+    private final LocalDateTime createdAt;
+}
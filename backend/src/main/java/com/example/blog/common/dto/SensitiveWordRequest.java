@@ -0,0 +1,14 @@
+package com.example.blog.common.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SensitiveWordRequest {
+
+    @NotNull
+    private List<String> words;
+}
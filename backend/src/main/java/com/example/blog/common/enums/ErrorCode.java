@@ -12,6 +12,7 @@ public enum ErrorCode {
     UNAUTHORIZED("401", "未认证或认证已过期"),
     FORBIDDEN("403", "权限不足"),
     NOT_FOUND("404", "资源不存在"),
+    CONFLICT("409", "请求冲突"),
     TOO_MANY_REQUESTS("429", "请求过于频繁"),
     SERVER_ERROR("500", "服务器繁忙，请稍后再试");
 
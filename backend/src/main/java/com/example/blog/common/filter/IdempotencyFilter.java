@@ -0,0 +1,224 @@
+package com.example.blog.common.filter;
+
+import com.example.blog.auth.util.SecurityUtils;
+import com.example.blog.common.api.ApiResponse;
+import com.example.blog.common.enums.ErrorCode;
+import com.example.blog.common.util.HashUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * 处理写请求上的 {@code Idempotency-Key} 请求头：同一用户、同一接口、同一 Key 的重放直接返回首次成功的响应，
+ * 不再进入业务逻辑。
+ * <p>
+ * 首次请求先占位，成功后把响应连同请求指纹（查询串与请求体的 SHA-256）写入 Redis 并保留 {@link #RESPONSE_TTL}；
+ * 失败时删除占位，允许客户端重试。占位期间到达的并发重放、以及同一 Key 携带不同请求内容的重放都返回 409。
+ * <p>
+ * 只对已登录用户生效：匿名请求（登录、注册等）没有可区分调用方的作用域，共用 Key 会把他人的响应
+ * （包括令牌）重放出去，因此直接放行。该过滤器作为普通 Servlet 过滤器排在 Spring Security 之后，
+ * 因此可以读取到当前用户。
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final String REPLAYED_HEADER = "Idempotency-Replayed";
+    private static final String KEY_PREFIX = "idem:";
+    private static final String PROCESSING = "processing";
+    private static final Duration PROCESSING_TTL = Duration.ofSeconds(30);
+    private static final Duration RESPONSE_TTL = Duration.ofMinutes(10);
+    private static final Set<String> METHODS = Set.of("POST", "PUT", "DELETE");
+    private static final Pattern KEY_PATTERN = Pattern.compile("[A-Za-z0-9_\\-]{8,64}");
+    private static final int MAX_BODY_BYTES = 1024 * 1024;
+    private static final TypeReference<Map<String, Object>> STORED_TYPE = new TypeReference<>() {
+    };
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !METHODS.contains(request.getMethod()) || !StringUtils.hasText(request.getHeader(HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (!KEY_PATTERN.matcher(idempotencyKey).matches()) {
+            writeFailure(response, ErrorCode.BAD_REQUEST, HEADER + " 格式不正确");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            writeFailure(response, ErrorCode.BAD_REQUEST, "请求体过大，不支持 " + HEADER);
+            return;
+        }
+        String requestHash = fingerprint(request, body);
+        String key = KEY_PREFIX + userId + ":" + request.getMethod() + ":" + request.getRequestURI() + ":" + idempotencyKey;
+
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key, PROCESSING, PROCESSING_TTL);
+        if (!Boolean.TRUE.equals(acquired)) {
+            String stored = redisTemplate.opsForValue().get(key);
+            if (stored == null || PROCESSING.equals(stored)) {
+                writeFailure(response, ErrorCode.CONFLICT, "相同请求正在处理中，请稍后重试");
+            } else {
+                replay(response, stored, requestHash);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), wrapper);
+            stored = store(key, requestHash, wrapper);
+        } finally {
+            if (!stored) {
+                redisTemplate.delete(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * 只保存业务成功的响应；业务异常由全局异常处理器以 200 + {@code success=false} 返回，也不保存。
+     */
+    private boolean store(String key, String requestHash, ContentCachingResponseWrapper wrapper) throws IOException {
+        int status = wrapper.getStatus();
+        byte[] body = wrapper.getContentAsByteArray();
+        if (status < 200 || status >= 300 || body.length == 0
+                || !objectMapper.readTree(body).path("success").asBoolean(false)) {
+            return false;
+        }
+        String value = objectMapper.writeValueAsString(Map.of(
+                "requestHash", requestHash,
+                "status", status,
+                "contentType", wrapper.getContentType() != null ? wrapper.getContentType() : MediaType.APPLICATION_JSON_VALUE,
+                "body", new String(body, StandardCharsets.UTF_8)));
+        redisTemplate.opsForValue().set(key, value, RESPONSE_TTL);
+        return true;
+    }
+
+    private void replay(HttpServletResponse response, String stored, String requestHash) throws IOException {
+        Map<String, Object> value = objectMapper.readValue(stored, STORED_TYPE);
+        if (!requestHash.equals(value.get("requestHash"))) {
+            writeFailure(response, ErrorCode.CONFLICT, HEADER + " 已用于内容不同的请求");
+            return;
+        }
+        response.setStatus(((Number) value.get("status")).intValue());
+        response.setContentType(String.valueOf(value.get("contentType")));
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(String.valueOf(value.get("body")));
+    }
+
+    private void writeFailure(HttpServletResponse response, ErrorCode errorCode, String message) throws IOException {
+        response.setStatus(Integer.parseInt(errorCode.getCode()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(), ApiResponse.failure(errorCode, message));
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        String query = request.getQueryString() != null ? request.getQueryString() : "";
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(query.length() + 1 + body.length);
+        buffer.writeBytes(query.getBytes(StandardCharsets.UTF_8));
+        buffer.write('\n');
+        buffer.writeBytes(body);
+        return HashUtils.sha256Hex(buffer.toByteArray());
+    }
+
+    /**
+     * 计算指纹时已读完请求体，交给后续处理的请求需要能重新读取。
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding())
+                    : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
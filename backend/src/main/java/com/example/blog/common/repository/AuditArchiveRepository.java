@@ -0,0 +1,138 @@
+package com.example.blog.common.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 审计日志归档与分区维护使用的 SQL。分区按 {@code TO_DAYS(created_at)} 划分，见 V9 迁移（{@code db.migration}）。
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditArchiveRepository {
+
+    /** MySQL {@code TO_DAYS('1970-01-01')} */
+    private static final long TO_DAYS_EPOCH = 719_528L;
+    private static final Pattern PARTITION_NAME = Pattern.compile("[A-Za-z0-9_]+");
+    private static final String COLUMNS =
+            "id, user_id, action, entity_type, entity_id, changes, ip_address, user_agent, created_at";
+    private static final RowMapper<ArchivedRow> ROW_MAPPER = (rs, rowNum) -> new ArchivedRow(
+            rs.getLong("id"),
+            rs.getObject("user_id", Long.class),
+            rs.getString("action"),
+            rs.getString("entity_type"),
+            rs.getLong("entity_id"),
+            rs.getString("changes"),
+            rs.getString("ip_address"),
+            rs.getString("user_agent"),
+            rs.getTimestamp("created_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return 按边界升序排列的分区；表未分区时为空
+     */
+    public List<AuditPartition> findPartitions() {
+        return jdbcTemplate.query("""
+                SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'audit_logs' AND PARTITION_NAME IS NOT NULL
+                ORDER BY PARTITION_ORDINAL_POSITION
+                """, (rs, rowNum) -> {
+            String description = rs.getString(2);
+            LocalDate upperBound = "MAXVALUE".equalsIgnoreCase(description)
+                    ? null
+                    : LocalDate.ofEpochDay(Long.parseLong(description) - TO_DAYS_EPOCH);
+            return new AuditPartition(rs.getString(1), upperBound);
+        });
+    }
+
+    /**
+     * 按 (created_at, id) 顺序读取 [from, to) 内位于游标之后的一批日志。
+     *
+     * @param afterCreatedAt 为空时从区间起点读取
+     */
+    public List<ArchivedRow> findChunk(LocalDateTime from, LocalDateTime to,
+                                       LocalDateTime afterCreatedAt, long afterId, int limit) {
+        if (afterCreatedAt == null) {
+            return jdbcTemplate.query("SELECT " + COLUMNS + " FROM audit_logs WHERE created_at >= ? AND created_at < ? "
+                    + "ORDER BY created_at, id LIMIT ?", ROW_MAPPER, Timestamp.valueOf(from), Timestamp.valueOf(to), limit);
+        }
+        Timestamp after = Timestamp.valueOf(afterCreatedAt);
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM audit_logs WHERE created_at >= ? AND created_at < ? "
+                        + "AND (created_at > ? OR (created_at = ? AND id > ?)) ORDER BY created_at, id LIMIT ?",
+                ROW_MAPPER, Timestamp.valueOf(from), Timestamp.valueOf(to), after, after, afterId, limit);
+    }
+
+    /**
+     * 带上时间条件让分区表只扫描过期的分区。
+     */
+    public int deleteChunk(List<Long> ids, LocalDateTime before) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Object[] args = new Object[ids.size() + 1];
+        args[0] = Timestamp.valueOf(before);
+        for (int i = 0; i < ids.size(); i++) {
+            args[i + 1] = ids.get(i);
+        }
+        return jdbcTemplate.update("DELETE FROM audit_logs WHERE created_at < ? AND id IN (" + placeholders + ")", args);
+    }
+
+    public void dropPartition(String name) {
+        jdbcTemplate.execute("ALTER TABLE audit_logs DROP PARTITION " + checkName(name));
+    }
+
+    /**
+     * 从末尾的 MAXVALUE 分区中拆出新的分区。末尾分区为空时只修改元数据；非空时 MySQL 会复制其中的行，
+     * 结果仍然正确，只是耗时与行数成正比。
+     */
+    public void splitLastPartition(String lastName, List<AuditPartition> partitions) {
+        String definitions = partitions.stream()
+                .map(partition -> "PARTITION " + checkName(partition.getName())
+                        + " VALUES LESS THAN (" + (partition.getUpperBound().toEpochDay() + TO_DAYS_EPOCH) + ")")
+                .collect(Collectors.joining(", "));
+        jdbcTemplate.execute("ALTER TABLE audit_logs REORGANIZE PARTITION " + checkName(lastName) + " INTO ("
+                + definitions + ", PARTITION " + checkName(lastName) + " VALUES LESS THAN MAXVALUE)");
+    }
+
+    private static String checkName(String name) {
+        if (!PARTITION_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("非法的分区名: " + name);
+        }
+        return name;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class AuditPartition {
+
+        private final String name;
+        /** 分区上界（不含），MAXVALUE 分区为空 */
+        private final LocalDate upperBound;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class ArchivedRow {
+
+        private final long id;
+        private final Long userId;
+        private final String action;
+        private final String entityType;
+        private final long entityId;
+        private final String changes;
+        private final String ipAddress;
+        private final String userAgent;
+        private final LocalDateTime createdAt;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.blog.common.repository;
+
+import com.example.blog.common.service.AuditLogWriter.AuditEntry;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 审计日志异步落库使用的批量 SQL，用户只按 ID 引用，不加载实体。
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditLogBatchRepository {
+
+    private static final String INSERT_PREFIX = "INSERT INTO audit_logs "
+            + "(user_id, action, entity_type, entity_id, changes, ip_address, user_agent, created_at) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 用一条多行 INSERT 写入一批审计日志。
+     */
+    public int insert(List<AuditEntry> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(entries.size() * 8);
+        for (int i = 0; i < entries.size(); i++) {
+            AuditEntry entry = entries.get(i);
+            sql.append(i == 0 ? ROW_PLACEHOLDERS : ", " + ROW_PLACEHOLDERS);
+            args.add(entry.getUserId());
+            args.add(entry.getAction());
+            args.add(entry.getEntityType());
+            args.add(entry.getEntityId());
+            args.add(entry.getChanges());
+            args.add(entry.getIpAddress());
+            args.add(entry.getUserAgent());
+            args.add(Timestamp.valueOf(entry.getCreatedAt()));
+        }
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.blog.common.repository;
+
+import com.example.blog.common.entity.SiteSetting;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SiteSettingRepository extends JpaRepository<SiteSetting, Long> {
+
+    Optional<SiteSetting> findBySettingKey(String settingKey);
+}
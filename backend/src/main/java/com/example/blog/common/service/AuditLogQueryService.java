@@ -0,0 +1,71 @@
+package com.example.blog.common.service;
+
+import com.example.blog.common.api.CursorResponse;
+import com.example.blog.common.dto.AuditLogQuery;
+import com.example.blog.common.dto.AuditLogResponse;
+import com.example.blog.common.enums.ErrorCode;
+import com.example.blog.common.exception.BusinessException;
+import com.example.blog.common.repository.AuditLogQueryRepository;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * 审计日志后台查询，按 {@code (created_at, id)} 倒序游标分页，游标格式与“我的点赞”等列表一致。
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditLogQueryService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final AuditLogQueryRepository auditLogQueryRepository;
+
+    public CursorResponse<AuditLogResponse> list(AuditLogQuery query, String cursor, int size) {
+        if (query.getEntityId() != null && query.getEntityType() == null) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "按实体 ID 查询时必须指定实体类型");
+        }
+        if (query.getFrom() != null && query.getTo() != null && !query.getFrom().isBefore(query.getTo())) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "开始时间必须早于结束时间");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        LocalDateTime beforeCreatedAt = null;
+        Long beforeId = null;
+        if (StringUtils.hasText(cursor)) {
+            long[] position = parseCursor(cursor);
+            beforeCreatedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(position[0]), ZoneOffset.UTC);
+            beforeId = position[1];
+        }
+        // 多取一条用来判断是否还有下一页
+        List<AuditLogResponse> rows = auditLogQueryRepository.findBefore(query, beforeCreatedAt, beforeId, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<AuditLogResponse> records = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            AuditLogResponse last = records.get(records.size() - 1);
+            nextCursor = last.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() + "_" + last.getId();
+        }
+        return CursorResponse.<AuditLogResponse>builder()
+                .records(records)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private long[] parseCursor(String cursor) {
+        int separator = cursor.indexOf('_');
+        try {
+            if (separator > 0) {
+                return new long[]{Long.parseLong(cursor.substring(0, separator)),
+                        Long.parseLong(cursor.substring(separator + 1))};
+            }
+        } catch (NumberFormatException ignored) {
+            // 统一按游标无效处理
+        }
+        throw new BusinessException(ErrorCode.BAD_REQUEST, "游标无效");
+    }
+}
@@ -1,42 +1,76 @@
 package com.example.blog.common.service;
 
-import com.example.blog.auth.entity.User;
-import com.example.blog.auth.repository.UserRepository;
 import com.example.blog.auth.util.SecurityUtils;
-import com.example.blog.common.entity.AuditLog;
-import com.example.blog.common.repository.AuditLogRepository;
+import com.example.blog.common.service.AuditLogWriter.AuditEntry;
 import com.example.blog.common.util.RequestUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * 记录审计日志。
+ * <p>
+ * 操作人、请求来源和变更内容在调用线程上立即采集，日志先暂存在当前事务中，
+ * 提交后整批交给 {@link AuditLogWriter} 异步写入，回滚则一并丢弃；不在事务中调用时直接提交给写入器。
+ * 业务事务因此不再为审计日志多执行查询和插入。
+ */
 @Service
 @RequiredArgsConstructor
 public class AuditLogService {
 
-    private final AuditLogRepository auditLogRepository;
-    private final UserRepository userRepository;
+    private static final int USER_AGENT_MAX_LENGTH = 500;
+
+    private final AuditLogWriter auditLogWriter;
     private final ObjectMapper objectMapper;
 
     public void record(String action, String entityType, Long entityId, Object changes) {
-        Long userId = SecurityUtils.getCurrentUserId();
-        User user = null;
-        if (userId != null) {
-            user = userRepository.findById(userId).orElse(null);
-        }
-        String changeString = serializeChanges(changes);
-        AuditLog log = AuditLog.builder()
-                .user(user)
+        AuditEntry entry = AuditEntry.builder()
+                .userId(SecurityUtils.getCurrentUserId())
                 .action(action)
                 .entityType(entityType)
                 .entityId(entityId)
-                .changes(changeString)
+                .changes(serializeChanges(changes))
                 .ipAddress(RequestUtils.getClientIp())
-                .userAgent(RequestUtils.getUserAgent())
+                .userAgent(truncate(RequestUtils.getUserAgent(), USER_AGENT_MAX_LENGTH))
+                .createdAt(LocalDateTime.now())
                 .build();
-        auditLogRepository.save(log);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            auditLogWriter.submit(List.of(entry));
+            return;
+        }
+        pendingEntries().add(entry);
+    }
+
+    /**
+     * 同一事务内的日志共用一个列表和一个事务回调。
+     */
+    @SuppressWarnings("unchecked")
+    private List<AuditEntry> pendingEntries() {
+        List<AuditEntry> pending = (List<AuditEntry>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        List<AuditEntry> entries = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, entries);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                auditLogWriter.submit(entries);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(AuditLogService.this);
+            }
+        });
+        return entries;
     }
 
     private String serializeChanges(Object changes) {
@@ -49,4 +83,8 @@ public class AuditLogService {
             return Optional.ofNullable(changes.toString()).orElse(null);
         }
     }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
 }
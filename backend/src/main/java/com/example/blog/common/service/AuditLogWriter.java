@@ -0,0 +1,171 @@
+package com.example.blog.common.service;
+
+import com.example.blog.common.repository.AuditLogBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 审计日志的异步批量写入。
+ * <p>
+ * 业务事务提交后 {@link AuditLogService} 把日志放入容量为 {@link #QUEUE_CAPACITY} 的内存队列，
+ * 由后台线程每次取出至多 {@link #BATCH_SIZE} 条用一条多行 INSERT 写入。队列满时新日志直接丢弃，
+ * 不阻塞业务线程。数据库不可用、连接池耗尽等错误时按指数退避重试整批，期间队列积压直至溢出；
+ * 只有违反约束（{@link DataIntegrityViolationException}，如字段超长）时才逐条重写，定位并丢弃有问题的行。
+ * 进程正常关闭时写完队列中剩余的日志（此时不再重试），异常退出时队列中的日志丢失。
+ * <p>
+ * 指标：{@code blog.audit.queue}（队列长度）、{@code blog.audit.written}、{@code blog.audit.retries}、
+ * {@code blog.audit.dropped}（{@code reason} 为 {@code overflow} 或 {@code write-failure}）。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditLogWriter {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 500;
+    private static final long INITIAL_BACKOFF_MILLIS = 500L;
+    private static final long MAX_BACKOFF_MILLIS = 30_000L;
+
+    private final AuditLogBatchRepository auditLogBatchRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final BlockingQueue<AuditEntry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private Thread worker;
+    private volatile boolean running;
+    /** 关闭时写入线程手上还没写完的一批 */
+    private volatile List<AuditEntry> unfinished;
+    private Counter written;
+    private Counter overflow;
+    private Counter writeFailures;
+    private Counter retries;
+
+    @PostConstruct
+    public void start() {
+        Gauge.builder("blog.audit.queue", queue, BlockingQueue::size).register(meterRegistry);
+        written = meterRegistry.counter("blog.audit.written");
+        overflow = meterRegistry.counter("blog.audit.dropped", "reason", "overflow");
+        writeFailures = meterRegistry.counter("blog.audit.dropped", "reason", "write-failure");
+        retries = meterRegistry.counter("blog.audit.retries");
+        running = true;
+        worker = new Thread(this::runLoop, "audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        if (unfinished != null) {
+            write(unfinished);
+        }
+        List<AuditEntry> batch = new ArrayList<>(BATCH_SIZE);
+        while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    public void submit(Collection<AuditEntry> entries) {
+        for (AuditEntry entry : entries) {
+            if (!queue.offer(entry)) {
+                overflow.increment();
+                log.debug("审计日志队列已满，丢弃 {} {}#{}", entry.getAction(), entry.getEntityType(), entry.getEntityId());
+            }
+        }
+    }
+
+    private void runLoop() {
+        List<AuditEntry> batch = new ArrayList<>(BATCH_SIZE);
+        while (running) {
+            try {
+                AuditEntry first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException ex) {
+                unfinished = List.copyOf(batch);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                writeFailures.increment(batch.size());
+                log.error("审计日志写入线程异常，丢弃 {} 条", batch.size(), ex);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<AuditEntry> batch) throws InterruptedException {
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        while (true) {
+            try {
+                auditLogBatchRepository.insert(batch);
+                written.increment(batch.size());
+                return;
+            } catch (DataIntegrityViolationException ex) {
+                log.warn("审计日志批量写入违反约束，改为逐条写入: {}", ex.getMessage());
+                writeIndividually(batch);
+                return;
+            } catch (DataAccessException ex) {
+                if (!running) {
+                    writeFailures.increment(batch.size());
+                    log.error("关闭时写入审计日志失败，丢弃 {} 条: {}", batch.size(), ex.getMessage());
+                    return;
+                }
+                retries.increment();
+                log.warn("审计日志批量写入失败，{} 毫秒后重试: {}", backoff, ex.getMessage());
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void writeIndividually(List<AuditEntry> batch) {
+        for (AuditEntry entry : batch) {
+            try {
+                auditLogBatchRepository.insert(List.of(entry));
+                written.increment();
+            } catch (DataAccessException ex) {
+                writeFailures.increment();
+                log.warn("丢弃写入失败的审计日志 {} {}#{}: {}", entry.getAction(), entry.getEntityType(),
+                        entry.getEntityId(), ex.getMessage());
+            }
+        }
+    }
+
+    @Getter
+    @Builder
+    public static class AuditEntry {
+
+        private final Long userId;
+        private final String action;
+        private final String entityType;
+        private final Long entityId;
+        private final String changes;
+        private final String ipAddress;
+        private final String userAgent;
+        private final LocalDateTime createdAt;
+    }
+}
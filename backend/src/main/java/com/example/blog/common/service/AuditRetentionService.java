@@ -0,0 +1,237 @@
+package com.example.blog.common.service;
+
+import com.example.blog.common.config.AuditProperties;
+import com.example.blog.common.repository.AuditArchiveRepository;
+import com.example.blog.common.repository.AuditArchiveRepository.ArchivedRow;
+import com.example.blog.common.repository.AuditArchiveRepository.AuditPartition;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * 审计日志的分区维护与过期归档。
+ * <p>
+ * 过期数据先按 (created_at, id) 分批读出，写成 gzip 压缩的 NDJSON 文件（每行一条日志，{@code changes}
+ * 原样输出不重新解析），再从表中移除：整个分区都已过期时 {@code DROP PARTITION}，只改元数据；
+ * 其余过期行（未分区的表，或跨越保留边界的分区）按批删除，每批一条自动提交的语句，不长时间持锁。
+ * 按批删除前先把该批写入的内容刷到磁盘，中途失败时已删除的行都能在归档文件中找到。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditRetentionService {
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final DateTimeFormatter RUN_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final AuditArchiveRepository auditArchiveRepository;
+    private final AuditProperties auditProperties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 从末尾的 MAXVALUE 分区中拆出当前月到之后 {@code partitionsAhead} 个月的分区。
+     * 表未分区或末尾不是 MAXVALUE 分区时不做处理。
+     */
+    public void ensurePartitions() {
+        List<AuditPartition> partitions = auditArchiveRepository.findPartitions();
+        if (partitions.isEmpty() || partitions.get(partitions.size() - 1).getUpperBound() != null) {
+            return;
+        }
+        LocalDate highest = partitions.stream()
+                .map(AuditPartition::getUpperBound)
+                .filter(Objects::nonNull)
+                .max(LocalDate::compareTo)
+                .orElse(null);
+        List<AuditPartition> missing = planMonthlyPartitions(highest, YearMonth.now(),
+                auditProperties.getRetention().getPartitionsAhead());
+        if (!missing.isEmpty()) {
+            auditArchiveRepository.splitLastPartition(partitions.get(partitions.size() - 1).getName(), missing);
+            log.info("审计日志新增分区 {}", missing.stream().map(AuditPartition::getName).toList());
+        }
+    }
+
+    /**
+     * 归档并移除早于保留期的日志。
+     */
+    public void purgeExpired() {
+        AuditProperties.Retention retention = auditProperties.getRetention();
+        if (retention.getDays() <= 0) {
+            return;
+        }
+        if (!StringUtils.hasText(retention.getArchiveDir())) {
+            throw new IllegalStateException("未配置 audit.retention.archive-dir，拒绝清理审计日志");
+        }
+        LocalDateTime cutoff = LocalDate.now().minusDays(retention.getDays()).atStartOfDay();
+        Path directory = Paths.get(retention.getArchiveDir());
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        LocalDateTime lowerBound = EARLIEST;
+        for (AuditPartition partition : auditArchiveRepository.findPartitions()) {
+            if (partition.getUpperBound() == null || partition.getUpperBound().atStartOfDay().isAfter(cutoff)) {
+                break;
+            }
+            LocalDateTime upperBound = partition.getUpperBound().atStartOfDay();
+            long archived = archivePartition(directory, partition.getName(), lowerBound, upperBound);
+            auditArchiveRepository.dropPartition(partition.getName());
+            log.info("审计日志分区 {} 已归档 {} 条并删除", partition.getName(), archived);
+            lowerBound = upperBound;
+        }
+        long purged = purgeRows(directory, cutoff);
+        if (purged > 0) {
+            log.info("审计日志按批归档并删除 {} 条早于 {} 的记录", purged, cutoff);
+        }
+    }
+
+    /**
+     * 整个分区导出到临时文件，完整写完后再改名，避免留下半截的归档文件。
+     */
+    private long archivePartition(Path directory, String name, LocalDateTime from, LocalDateTime to) {
+        Path target = directory.resolve("audit_logs-" + name + ".ndjson.gz");
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        int chunkSize = auditProperties.getRetention().getChunkSize();
+        long archived = 0;
+        try (ArchiveFile file = new ArchiveFile(temp)) {
+            List<ArchivedRow> rows = auditArchiveRepository.findChunk(from, to, null, 0L, chunkSize);
+            while (!rows.isEmpty()) {
+                file.write(rows);
+                archived += rows.size();
+                ArchivedRow last = rows.get(rows.size() - 1);
+                rows = rows.size() < chunkSize
+                        ? List.of()
+                        : auditArchiveRepository.findChunk(from, to, last.getCreatedAt(), last.getId(), chunkSize);
+            }
+            file.sync();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return archived;
+    }
+
+    /**
+     * 已删除的行不会再被读到，因此每批都从最早的过期行开始读；删除行数少于读出行数时立即停止。
+     */
+    private long purgeRows(Path directory, LocalDateTime cutoff) {
+        int chunkSize = auditProperties.getRetention().getChunkSize();
+        List<ArchivedRow> rows = auditArchiveRepository.findChunk(EARLIEST, cutoff, null, 0L, chunkSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Path target = directory.resolve("audit_logs-" + LocalDateTime.now().format(RUN_TIMESTAMP) + ".ndjson.gz");
+        long purged = 0;
+        try (ArchiveFile file = new ArchiveFile(target)) {
+            while (!rows.isEmpty()) {
+                file.write(rows);
+                file.sync();
+                List<Long> ids = new ArrayList<>(rows.size());
+                rows.forEach(row -> ids.add(row.getId()));
+                int deleted = auditArchiveRepository.deleteChunk(ids, cutoff);
+                purged += deleted;
+                if (deleted < rows.size()) {
+                    // 读出的行没有被删掉时下一批会读到同样的行，继续执行会无限重复归档
+                    throw new IllegalStateException("审计日志按批删除只删除了 " + deleted + "/" + rows.size()
+                            + " 条，已停止清理，请检查应用与数据库的时区设置");
+                }
+                rows = rows.size() < chunkSize
+                        ? List.of()
+                        : auditArchiveRepository.findChunk(EARLIEST, cutoff, null, 0L, chunkSize);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return purged;
+    }
+
+    /**
+     * @param highest 现有分区的最大上界，为空时从当前月开始
+     * @return 需要新建的月份分区，每个分区名为 {@code pYYYYMM}、上界为下月 1 日
+     */
+    static List<AuditPartition> planMonthlyPartitions(LocalDate highest, YearMonth current, int monthsAhead) {
+        YearMonth last = current.plusMonths(monthsAhead);
+        YearMonth month = highest != null ? YearMonth.from(highest) : current;
+        List<AuditPartition> partitions = new ArrayList<>();
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            partitions.add(new AuditPartition("p" + month.format(PARTITION_MONTH), month.plusMonths(1).atDay(1)));
+        }
+        return partitions;
+    }
+
+    /**
+     * 一个 gzip 压缩的 NDJSON 归档文件。{@link #sync} 把已写入的内容刷到磁盘，此时文件可以被完整解压到该位置。
+     */
+    private class ArchiveFile implements Closeable {
+
+        private final FileOutputStream output;
+        private final JsonGenerator generator;
+
+        private ArchiveFile(Path path) throws IOException {
+            output = new FileOutputStream(path.toFile());
+            generator = objectMapper.getFactory().createGenerator(new GZIPOutputStream(output, 64 * 1024, true));
+            // 行之间只用换行分隔，不要默认的空格
+            generator.setRootValueSeparator(null);
+        }
+
+        private void write(List<ArchivedRow> rows) throws IOException {
+            for (ArchivedRow row : rows) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", row.getId());
+                if (row.getUserId() != null) {
+                    generator.writeNumberField("userId", row.getUserId());
+                } else {
+                    generator.writeNullField("userId");
+                }
+                generator.writeStringField("action", row.getAction());
+                generator.writeStringField("entityType", row.getEntityType());
+                generator.writeNumberField("entityId", row.getEntityId());
+                generator.writeFieldName("changes");
+                if (row.getChanges() != null) {
+                    generator.writeRawValue(row.getChanges());
+                } else {
+                    generator.writeNull();
+                }
+                generator.writeStringField("ipAddress", row.getIpAddress());
+                generator.writeStringField("userAgent", row.getUserAgent());
+                generator.writeStringField("createdAt", row.getCreatedAt().toString());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+
+        private void sync() throws IOException {
+            generator.flush();
+            output.getFD().sync();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.blog.common.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+/**
+ * 基于 {@code SET NX PX} 的简单互斥锁，用于保证后台批处理在集群内同一时刻只有一个节点执行。
+ */
+@Service
+@RequiredArgsConstructor
+public class RedisLockService {
+
+    private static final String KEY_PREFIX = "lock:";
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+    private static final RedisScript<Long> EXPIRE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * @return 加锁成功时返回持有者令牌，否则返回 {@code null}
+     */
+    public String tryLock(String name, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + name, token, ttl);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    public void unlock(String name, String token) {
+        if (token != null) {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + name), token);
+        }
+    }
+
+    /**
+     * 把仍由自己持有的锁的剩余有效期改为 {@code ttl}。
+     *
+     * @return 锁已不属于该令牌时返回 false
+     */
+    public boolean expire(String name, String token, Duration ttl) {
+        if (token == null) {
+            return false;
+        }
+        Long result = redisTemplate.execute(EXPIRE_SCRIPT, List.of(KEY_PREFIX + name), token,
+                String.valueOf(ttl.toMillis()));
+        return result != null && result == 1L;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.blog.common.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * 定时任务的统一执行入口：集群互斥与运行指标。
+ * <p>
+ * {@link #runExclusive} 通过 Redis 租约保证同一任务在集群内只由一个节点执行。租约最长持有 {@code lockAtMostFor}
+ * （节点宕机时自动释放）；任务完成后至少保留到 {@code lockAtLeastFor}，避免各节点时钟略有偏差时
+ * 同一个 cron 触发点被先后执行两次。{@link #run} 用于只处理本机状态、每个节点都要执行的任务。
+ * <p>
+ * 指标（均带 {@code job} 标签）：{@code blog.job.duration}（带 {@code outcome}）、
+ * {@code blog.job.skipped}（租约在其他节点）、{@code blog.job.lag}（距集群内最近一次成功执行的秒数）。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScheduledJobRunner {
+
+    private static final String KEY_LAST_SUCCESS = "job:last-success";
+
+    private final RedisLockService redisLockService;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, AtomicLong> lastSuccess = new ConcurrentHashMap<>();
+
+    public void run(String job, Runnable task) {
+        execute(job, task);
+    }
+
+    public boolean runExclusive(String job, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable task) {
+        return runExclusive(job, job, lockAtMostFor, lockAtLeastFor, task);
+    }
+
+    /**
+     * @param lockName 多个任务需要互斥时共用同一个锁名
+     * @return 本节点是否取得租约并执行了任务
+     */
+    public boolean runExclusive(String job, String lockName, Duration lockAtMostFor, Duration lockAtLeastFor,
+                                Runnable task) {
+        long startedAt = System.currentTimeMillis();
+        String token = redisLockService.tryLock(lockName, lockAtMostFor);
+        if (token == null) {
+            meterRegistry.counter("blog.job.skipped", "job", job).increment();
+            syncLastSuccess(job);
+            return false;
+        }
+        try {
+            execute(job, task);
+        } finally {
+            long remaining = lockAtLeastFor.toMillis() - (System.currentTimeMillis() - startedAt);
+            if (remaining > 0) {
+                redisLockService.expire(lockName, token, Duration.ofMillis(remaining));
+            } else {
+                redisLockService.unlock(lockName, token);
+            }
+        }
+        return true;
+    }
+
+    private void execute(String job, Runnable task) {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            task.run();
+            recordSuccess(job);
+        } catch (RuntimeException ex) {
+            outcome = "failure";
+            log.error("定时任务 {} 执行失败", job, ex);
+        } finally {
+            Timer.builder("blog.job.duration")
+                    .tag("job", job)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void recordSuccess(String job) {
+        long now = System.currentTimeMillis();
+        lastSuccess(job).set(now);
+        try {
+            redisTemplate.opsForHash().put(KEY_LAST_SUCCESS, job, String.valueOf(now));
+        } catch (RuntimeException ex) {
+            log.debug("记录任务 {} 的完成时间失败: {}", job, ex.getMessage());
+        }
+    }
+
+    /**
+     * 未取得租约的节点从 Redis 同步最近一次成功时间，使各节点上报的滞后一致。
+     */
+    private void syncLastSuccess(String job) {
+        try {
+            Object value = redisTemplate.opsForHash().get(KEY_LAST_SUCCESS, job);
+            if (value != null) {
+                lastSuccess(job).accumulateAndGet(Long.parseLong(value.toString()), Math::max);
+            }
+        } catch (RuntimeException ex) {
+            log.debug("读取任务 {} 的完成时间失败: {}", job, ex.getMessage());
+        }
+    }
+
+    private AtomicLong lastSuccess(String job) {
+        return lastSuccess.computeIfAbsent(job, name -> {
+            AtomicLong holder = new AtomicLong();
+            Gauge.builder("blog.job.lag", holder,
+                            value -> value.get() == 0 ? Double.NaN : (System.currentTimeMillis() - value.get()) / 1000.0)
+                    .tag("job", name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            return holder;
+        });
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.blog.common.service;
+
+import com.example.blog.common.config.SecurityProperties;
+import com.example.blog.common.entity.SiteSetting;
+import com.example.blog.common.repository.SiteSettingRepository;
+import com.example.blog.common.util.SensitiveWordMatcher;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+/**
+ * 敏感词词典的存储与热更新。
+ * <p>
+ * 词典保存在 {@code site_settings} 表，未配置时回退到 {@code security.sensitive-words}。
+ * 更新提交后通过 Redis 频道通知所有节点，各节点在后台线程重新编译匹配器后整体替换，
+ * 正在进行的检查继续使用旧快照，不会被阻塞；另有定时校验兜底丢失的通知。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SensitiveWordDictionaryService implements MessageListener {
+
+    public static final String SETTING_KEY = "sensitive_words";
+    private static final String CHANNEL = "channel:sensitive-words";
+
+    private final SiteSettingRepository siteSettingRepository;
+    private final SecurityProperties securityProperties;
+    private final SensitiveWordFilter sensitiveWordFilter;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final AuditLogService auditLogService;
+
+    private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sensitive-word-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+    private volatile LocalDateTime loadedVersion;
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        scheduleReload();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reloadExecutor.shutdownNow();
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> getWords() {
+        return siteSettingRepository.findBySettingKey(SETTING_KEY)
+                .map(setting -> parse(setting.getSettingValue()))
+                .orElseGet(() -> List.copyOf(normalize(securityProperties.getSensitiveWords())));
+    }
+
+    @Transactional
+    public void update(List<String> words) {
+        Collection<String> normalized = normalize(words);
+        SiteSetting setting = siteSettingRepository.findBySettingKey(SETTING_KEY)
+                .orElseGet(() -> SiteSetting.builder()
+                        .settingKey(SETTING_KEY)
+                        .description("敏感词词典，每行一个")
+                        .build());
+        setting.setSettingValue(String.join("\n", normalized));
+        siteSettingRepository.save(setting);
+        auditLogService.record("UPDATE_SENSITIVE_WORDS", "SiteSetting", setting.getId(), Map.of("size", normalized.size()));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                scheduleReload();
+                redisTemplate.convertAndSend(CHANNEL, String.valueOf(System.currentTimeMillis()));
+            }
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        scheduleReload();
+    }
+
+    @Scheduled(fixedDelay = 60_000L, initialDelay = 60_000L)
+    public void verifyVersion() {
+        LocalDateTime current = siteSettingRepository.findBySettingKey(SETTING_KEY)
+                .map(SiteSetting::getUpdatedAt)
+                .orElse(null);
+        if (!Objects.equals(current, loadedVersion)) {
+            scheduleReload();
+        }
+    }
+
+    /**
+     * 多个通知在重建完成前到达时只会触发一次重建，重建总是读取最新的词典。
+     */
+    private void scheduleReload() {
+        if (reloadPending.compareAndSet(false, true)) {
+            reloadExecutor.execute(() -> {
+                reloadPending.set(false);
+                try {
+                    reload();
+                } catch (RuntimeException ex) {
+                    log.warn("Failed to reload sensitive word dictionary, keeping current snapshot", ex);
+                }
+            });
+        }
+    }
+
+    private void reload() {
+        SiteSetting setting = siteSettingRepository.findBySettingKey(SETTING_KEY).orElse(null);
+        if (setting == null) {
+            loadedVersion = null;
+            return;
+        }
+        SensitiveWordMatcher matcher = SensitiveWordMatcher.compile(parse(setting.getSettingValue()));
+        sensitiveWordFilter.swap(matcher);
+        loadedVersion = setting.getUpdatedAt();
+        log.info("Sensitive word dictionary reloaded, {} words", matcher.size());
+    }
+
+    private List<String> parse(String value) {
+        if (!StringUtils.hasText(value)) {
+            return List.of();
+        }
+        return List.copyOf(normalize(Arrays.asList(value.split("\\R"))));
+    }
+
+    private Collection<String> normalize(Collection<String> words) {
+        LinkedHashSet<String> normalized = new LinkedHashSet<>();
+        if (words != null) {
+            for (String word : words) {
+                if (StringUtils.hasText(word)) {
+                    normalized.add(word.trim());
+                }
+            }
+        }
+        return normalized;
+    }
+}
@@ -3,31 +3,45 @@ package com.example.blog.common.service;
 import com.example.blog.common.config.SecurityProperties;
 import com.example.blog.common.enums.ErrorCode;
 import com.example.blog.common.exception.BusinessException;
+import com.example.blog.common.util.SensitiveWordMatcher;
+import com.example.blog.common.util.SensitiveWordMatcher.Match;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 @Service
-@RequiredArgsConstructor
 public class SensitiveWordFilter {
 
-    private final SecurityProperties securityProperties;
+    /**
+     * 词典热更新时整体替换为新编译的匹配器，检查过程只读取一次引用，不加锁。
+     */
+    private volatile SensitiveWordMatcher matcher;
 
-    public void assertClean(String text) {
-        if (!StringUtils.hasText(text)) {
-            return;
-        }
-        List<String> words = securityProperties.getSensitiveWords();
-        if (CollectionUtils.isEmpty(words)) {
-            return;
-        }
-        String lower = text.toLowerCase();
-        for (String word : words) {
-            if (StringUtils.hasText(word) && lower.contains(word.toLowerCase())) {
+    public SensitiveWordFilter(SecurityProperties securityProperties) {
+        this.matcher = SensitiveWordMatcher.compile(securityProperties.getSensitiveWords());
+    }
+
+    public void assertClean(String... texts) {
+        SensitiveWordMatcher current = matcher;
+        for (String text : texts) {
+            if (StringUtils.hasText(text) && current.containsAny(text)) {
                 throw new BusinessException(ErrorCode.BAD_REQUEST, "内容包含敏感词，请重新编辑");
             }
         }
     }
+
+    public List<Match> findMatches(String text) {
+        if (!StringUtils.hasText(text)) {
+            return List.of();
+        }
+        return matcher.findAll(text);
+    }
+
+    public void swap(SensitiveWordMatcher replacement) {
+        this.matcher = replacement;
+    }
+
+    public int dictionarySize() {
+        return matcher.size();
+    }
 }
@@ -0,0 +1,40 @@
+package com.example.blog.common.task;
+
+import com.example.blog.common.service.AuditRetentionService;
+import com.example.blog.common.service.ScheduledJobRunner;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class AuditRetentionScheduler {
+
+    private static final String LOCK_NAME = "audit-retention";
+
+    private final AuditRetentionService auditRetentionService;
+    private final ScheduledJobRunner scheduledJobRunner;
+
+    /**
+     * 先建好后续月份的分区，再归档过期日志。归档文件写在执行节点的本地磁盘上。
+     */
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void maintainAuditLogs() {
+        scheduledJobRunner.runExclusive("audit-retention", LOCK_NAME, Duration.ofHours(2), Duration.ofMinutes(10), () -> {
+            auditRetentionService.ensurePartitions();
+            auditRetentionService.purgeExpired();
+        });
+    }
+
+    /**
+     * 启动时补建分区：迁移刚完成或节点停机跨月后，尽快把新月份从 p_future 拆出，避免数据写进 p_future 后拆分需要复制行。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+        scheduledJobRunner.runExclusive("audit-partitions", LOCK_NAME, Duration.ofMinutes(30), Duration.ZERO,
+                auditRetentionService::ensurePartitions);
+    }
+}
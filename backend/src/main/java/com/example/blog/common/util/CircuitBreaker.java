@@ -0,0 +1,85 @@
+package com.example.blog.common.util;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * 简单的熔断器：连续 {@code failureThreshold} 次失败（超时也算失败）后打开，打开期间直接拒绝调用；
+ * 经过 {@code openDuration} 后进入半开状态，只放行一次试探调用，成功则关闭，失败则重新打开。
+ * 线程安全。
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final long slowCallNanos;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Duration slowCallThreshold) {
+        this(failureThreshold, openDuration, slowCallThreshold, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, Duration slowCallThreshold, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openDuration.toMillis();
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * @return 是否允许本次调用；返回 true 后必须调用 {@link #onSuccess} 或 {@link #onFailure}
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param elapsedNanos 调用耗时，超过慢调用阈值按失败处理
+     */
+    public synchronized void onSuccess(long elapsedNanos) {
+        if (elapsedNanos > slowCallNanos) {
+            recordFailure();
+            return;
+        }
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        recordFailure();
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void recordFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package com.example.blog.common.util;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.safety.Cleaner;
 import org.jsoup.safety.Safelist;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -8,10 +14,93 @@ import org.springframework.util.StringUtils;
 @Component
 public class ContentSanitizer {
 
+    /**
+     * 超过该长度的内容按顶层块切分后逐段清洗，避免为整篇文档构建完整 DOM。
+     */
+    static final int STREAMING_THRESHOLD = 64 * 1024;
+    private static final int SEGMENT_SIZE = 16 * 1024;
+    private static final int MAX_SEGMENT_SIZE = 256 * 1024;
+
+    /**
+     * 策略对象只在此处构建一次且从不修改，{@link Cleaner} 本身无状态，可在线程间共享。
+     */
+    private final Cleaner cleaner = new Cleaner(Safelist.relaxed());
+
+    /**
+     * 文章正文由 Markdown 渲染而来，额外允许标题锚点、代码语言类名、删除线和表格对齐。
+     */
+    private final Cleaner articleCleaner = new Cleaner(Safelist.relaxed()
+            .addTags("del")
+            .addAttributes("h1", "id")
+            .addAttributes("h2", "id")
+            .addAttributes("h3", "id")
+            .addAttributes("h4", "id")
+            .addAttributes("h5", "id")
+            .addAttributes("h6", "id")
+            .addAttributes("code", "class")
+            .addAttributes("th", "align")
+            .addAttributes("td", "align"));
+
     public String sanitize(String raw) {
+        return sanitize(raw, cleaner);
+    }
+
+    public String sanitizeArticle(String html) {
+        return sanitize(html, articleCleaner);
+    }
+
+    /**
+     * 流式清洗：按顶层元素切分输入，每段单独解析和清洗后立即写出，内存占用与单段大小而非文档大小相关。
+     */
+    public void sanitize(Reader source, Appendable target) throws IOException {
+        sanitize(source, target, cleaner);
+    }
+
+    private String sanitize(String raw, Cleaner policy) {
         if (!StringUtils.hasText(raw)) {
             return raw;
         }
-        return Jsoup.clean(raw, Safelist.relaxed());
+        if (raw.length() <= STREAMING_THRESHOLD) {
+            return clean(raw, policy);
+        }
+        StringBuilder target = new StringBuilder(raw.length());
+        try {
+            sanitize(new StringReader(raw), target, policy);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return target.toString();
+    }
+
+    private void sanitize(Reader source, Appendable target, Cleaner policy) throws IOException {
+        HtmlBlockSplitter splitter = new HtmlBlockSplitter(SEGMENT_SIZE, MAX_SEGMENT_SIZE);
+        char[] buffer = new char[8192];
+        boolean first = true;
+        int read;
+        while ((read = source.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                String segment = splitter.accept(buffer[i]);
+                if (segment != null) {
+                    first = write(clean(segment, policy), target, first);
+                }
+            }
+        }
+        write(clean(splitter.finish(), policy), target, first);
+    }
+
+    private boolean write(String cleaned, Appendable target, boolean first) throws IOException {
+        if (cleaned.isEmpty()) {
+            return first;
+        }
+        if (!first) {
+            target.append('\n');
+        }
+        target.append(cleaned);
+        return false;
+    }
+
+    private String clean(String raw, Cleaner policy) {
+        Document dirty = Jsoup.parseBodyFragment(raw, "");
+        return policy.clean(dirty).body().html();
     }
 }
@@ -0,0 +1,165 @@
+package com.example.blog.common.util;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 轻量的 HTML 词法切分器：逐字符跟踪标签、注释、原始文本元素以及元素嵌套深度，
+ * 只在顶层元素闭合之后切分，使每一段都是可以独立清洗的完整片段。
+ * <p>
+ * 嵌套不闭合的输入（例如省略 {@code </p>}）可能一直停留在非顶层，此时在达到上限后于标签边界强制切分，
+ * 清洗器会自动补全标签，结果依旧安全，只是排版可能与整篇清洗略有差异。超长的纯文本只在空白字符处切分：
+ * 各段清洗后以换行拼接，在空白处切分才不会把单词或 {@code &amp;} 这样的字符引用拆开、或在文字中间插入空白。
+ */
+final class HtmlBlockSplitter {
+
+    private static final Set<String> VOID_ELEMENTS = Set.of("area", "base", "br", "col", "embed", "hr", "img",
+            "input", "link", "meta", "param", "source", "track", "wbr");
+    private static final Set<String> RAW_TEXT_ELEMENTS = Set.of("script", "style", "textarea", "title", "xmp",
+            "iframe", "noembed", "noframes", "noscript");
+
+    private enum State {
+        TEXT, TAG, COMMENT, RAW_TEXT
+    }
+
+    private final int targetSize;
+    private final int maxSize;
+    private final StringBuilder segment = new StringBuilder();
+    private final StringBuilder tag = new StringBuilder();
+    private State state = State.TEXT;
+    private char quote;
+    private int depth;
+    private String rawTextEnd;
+
+    HtmlBlockSplitter(int targetSize, int maxSize) {
+        this.targetSize = targetSize;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 追加一个字符；若恰好形成一个可切分的片段则返回该片段，否则返回 {@code null}。
+     */
+    String accept(char c) {
+        segment.append(c);
+        if (segment.length() >= maxSize * 2) {
+            // 未闭合的引号、注释或原始文本元素，硬性截断以保证内存有界；后半段会被当作文本转义
+            state = State.TEXT;
+            depth = 0;
+            return flush();
+        }
+        switch (state) {
+            case TEXT -> {
+                if (c == '<') {
+                    state = State.TAG;
+                    quote = 0;
+                    tag.setLength(0);
+                } else if (Character.isWhitespace(c) && segment.length() >= maxSize) {
+                    return flush();
+                }
+            }
+            case TAG -> {
+                return acceptTagChar(c);
+            }
+            case COMMENT -> {
+                if (c == '>' && endsWith("-->")) {
+                    state = State.TEXT;
+                    return splitIfReady();
+                }
+            }
+            case RAW_TEXT -> {
+                if (c == '>' && endsWithRawTextEnd()) {
+                    state = State.TEXT;
+                    return splitIfReady();
+                }
+            }
+            default -> {
+            }
+        }
+        return null;
+    }
+
+    String finish() {
+        return flush();
+    }
+
+    private String acceptTagChar(char c) {
+        if (tag.isEmpty() && !(Character.isLetter(c) || c == '/' || c == '!' || c == '?')) {
+            // 类似 "a < b" 的字面量小于号
+            state = State.TEXT;
+            return null;
+        }
+        if (quote != 0) {
+            if (c == quote) {
+                quote = 0;
+            }
+            tag.append(c);
+            return null;
+        }
+        if (c == '"' || c == '\'') {
+            quote = c;
+            tag.append(c);
+            return null;
+        }
+        if (c != '>') {
+            tag.append(c);
+            if (tag.length() == 3 && "!--".contentEquals(tag)) {
+                state = State.COMMENT;
+            }
+            return null;
+        }
+        state = State.TEXT;
+        char first = tag.charAt(0);
+        if (first == '!' || first == '?') {
+            return splitIfReady();
+        }
+        boolean closing = first == '/';
+        String name = tagName(closing ? 1 : 0);
+        if (closing) {
+            if (!VOID_ELEMENTS.contains(name) && depth > 0) {
+                depth--;
+            }
+        } else if (RAW_TEXT_ELEMENTS.contains(name)) {
+            state = State.RAW_TEXT;
+            rawTextEnd = "</" + name;
+            return null;
+        } else if (!VOID_ELEMENTS.contains(name) && tag.charAt(tag.length() - 1) != '/') {
+            depth++;
+        }
+        return splitIfReady();
+    }
+
+    private String splitIfReady() {
+        if ((depth == 0 && segment.length() >= targetSize) || segment.length() >= maxSize) {
+            return flush();
+        }
+        return null;
+    }
+
+    private String flush() {
+        String result = segment.toString();
+        segment.setLength(0);
+        return result;
+    }
+
+    private String tagName(int start) {
+        int end = start;
+        while (end < tag.length() && !Character.isWhitespace(tag.charAt(end)) && tag.charAt(end) != '/') {
+            end++;
+        }
+        return tag.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+
+    private boolean endsWith(String suffix) {
+        int offset = segment.length() - suffix.length();
+        return offset >= 0 && segment.indexOf(suffix, offset) == offset;
+    }
+
+    private boolean endsWithRawTextEnd() {
+        int end = segment.length() - 1;
+        while (end > 0 && Character.isWhitespace(segment.charAt(end - 1))) {
+            end--;
+        }
+        int start = end - rawTextEnd.length();
+        return start >= 0 && segment.substring(start, end).equalsIgnoreCase(rawTextEnd);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.blog.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * 按时间轮换的两代布隆过滤器，用于“最近一段时间内是否见过”的近似去重。
+ * <p>
+ * 写入只进当前代，查询同时看当前代和上一代；每过一个窗口上一代被丢弃、当前代降为上一代，
+ * 因此一个值被记住的时长在 1 到 2 个窗口之间。只会误判“见过”（概率约为构造时的误判率），
+ * 不会漏判窗口内见过的值。线程安全，位数组用 CAS 更新。
+ */
+public final class RotatingBloomFilter {
+
+    private final int bitCount;
+    private final int hashCount;
+    private final long windowMillis;
+    private final LongSupplier clock;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+    private volatile long rotateAt;
+
+    public RotatingBloomFilter(int expectedInsertions, double falsePositiveRate, Duration window) {
+        this(expectedInsertions, falsePositiveRate, window, System::currentTimeMillis);
+    }
+
+    RotatingBloomFilter(int expectedInsertions, double falsePositiveRate, Duration window, LongSupplier clock) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("invalid bloom filter sizing");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, bits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+        this.current = new Generation(bitCount);
+        this.previous = new Generation(bitCount);
+        this.rotateAt = clock.getAsLong() + windowMillis;
+    }
+
+    /**
+     * 记录该值，并返回记录前是否（可能）已在最近的窗口内出现过。
+     */
+    public boolean checkAndPut(String value) {
+        rotateIfDue();
+        long[] hashes = hash(value);
+        boolean seen = previous.mightContain(hashes[0], hashes[1]);
+        return current.put(hashes[0], hashes[1]) || seen;
+    }
+
+    public boolean mightContain(String value) {
+        rotateIfDue();
+        long[] hashes = hash(value);
+        return current.mightContain(hashes[0], hashes[1]) || previous.mightContain(hashes[0], hashes[1]);
+    }
+
+    private void rotateIfDue() {
+        long now = clock.getAsLong();
+        if (now < rotateAt) {
+            return;
+        }
+        synchronized (this) {
+            if (now < rotateAt) {
+                return;
+            }
+            // 空闲超过两个窗口时两代都已过期
+            previous = now < rotateAt + windowMillis ? current : new Generation(bitCount);
+            current = new Generation(bitCount);
+            rotateAt = now + windowMillis;
+        }
+    }
+
+    /**
+     * FNV-1a 64 位哈希再经 MurmurHash3 的 fmix64 打散，取两个独立的 64 位值做双重哈希。
+     */
+    private static long[] hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        long h1 = fmix64(h);
+        long h2 = fmix64(h1 ^ 0x9e3779b97f4a7c15L) | 1L;
+        return new long[]{h1, h2};
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    private final class Generation {
+
+        private final AtomicLongArray words;
+
+        private Generation(int bits) {
+            this.words = new AtomicLongArray((bits + 63) >>> 6);
+        }
+
+        /**
+         * @return 写入前所有位是否都已置位
+         */
+        private boolean put(long h1, long h2) {
+            boolean present = true;
+            long combined = h1;
+            for (int i = 0; i < hashCount; i++) {
+                int bit = (int) Long.remainderUnsigned(combined, bitCount);
+                long mask = 1L << bit;
+                long previousWord = words.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+                present &= (previousWord & mask) != 0;
+                combined += h2;
+            }
+            return present;
+        }
+
+        private boolean mightContain(long h1, long h2) {
+            long combined = h1;
+            for (int i = 0; i < hashCount; i++) {
+                int bit = (int) Long.remainderUnsigned(combined, bitCount);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+                combined += h2;
+            }
+            return true;
+        }
+    }
+}
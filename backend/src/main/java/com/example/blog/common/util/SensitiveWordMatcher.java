@@ -0,0 +1,241 @@
+package com.example.blog.common.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 基于 Aho-Corasick 自动机的多模式敏感词匹配器。
+ * <p>
+ * 构建后不可变、线程安全；扫描时逐字符做大小写与全角/半角折叠，单次遍历文本且不分配内存，
+ * 只有命中时才创建 {@link Match}。折叠是逐字符一一映射，因此命中位置可以直接对应原文下标。
+ */
+public final class SensitiveWordMatcher {
+
+    private static final char[] FOLD_TABLE = buildFoldTable();
+
+    private static final SensitiveWordMatcher EMPTY = compile(List.of());
+
+    private final String[] words;
+    private final int[] rootTransitions;
+    private final int[] edgeOffsets;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] failLinks;
+    private final int[] outputs;
+    private final int[] outputLinks;
+
+    private SensitiveWordMatcher(String[] words, int[] rootTransitions, int[] edgeOffsets, char[] edgeChars,
+                                 int[] edgeTargets, int[] failLinks, int[] outputs, int[] outputLinks) {
+        this.words = words;
+        this.rootTransitions = rootTransitions;
+        this.edgeOffsets = edgeOffsets;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.failLinks = failLinks;
+        this.outputs = outputs;
+        this.outputLinks = outputLinks;
+    }
+
+    public static SensitiveWordMatcher empty() {
+        return EMPTY;
+    }
+
+    public static SensitiveWordMatcher compile(Collection<String> dictionary) {
+        Map<String, String> normalized = new LinkedHashMap<>();
+        if (dictionary != null) {
+            for (String word : dictionary) {
+                if (word == null || word.isBlank()) {
+                    continue;
+                }
+                String trimmed = word.trim();
+                normalized.putIfAbsent(normalize(trimmed), trimmed);
+            }
+        }
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminal.add(-1);
+        String[] words = normalized.values().toArray(new String[0]);
+        int index = 0;
+        for (String key : normalized.keySet()) {
+            int state = 0;
+            for (int i = 0; i < key.length(); i++) {
+                Integer next = trie.get(state).get(key.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    terminal.add(-1);
+                    trie.get(state).put(key.charAt(i), next);
+                }
+                state = next;
+            }
+            terminal.set(state, index++);
+        }
+
+        int size = trie.size();
+        int[] edgeOffsets = new int[size + 1];
+        for (int state = 0; state < size; state++) {
+            edgeOffsets[state + 1] = edgeOffsets[state] + trie.get(state).size();
+        }
+        char[] edgeChars = new char[edgeOffsets[size]];
+        int[] edgeTargets = new int[edgeOffsets[size]];
+        for (int state = 0; state < size; state++) {
+            int cursor = edgeOffsets[state];
+            for (Map.Entry<Character, Integer> edge : trie.get(state).entrySet()) {
+                edgeChars[cursor] = edge.getKey();
+                edgeTargets[cursor] = edge.getValue();
+                cursor++;
+            }
+        }
+
+        int[] failLinks = new int[size];
+        int[] outputs = new int[size];
+        int[] outputLinks = new int[size];
+        Arrays.fill(outputLinks, -1);
+        for (int state = 0; state < size; state++) {
+            outputs[state] = terminal.get(state);
+        }
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int edge = edgeOffsets[0]; edge < edgeOffsets[1]; edge++) {
+            queue.add(edgeTargets[edge]);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int edge = edgeOffsets[state]; edge < edgeOffsets[state + 1]; edge++) {
+                int child = edgeTargets[edge];
+                char c = edgeChars[edge];
+                int fallback = failLinks[state];
+                int target;
+                while ((target = step(edgeOffsets, edgeChars, edgeTargets, fallback, c)) < 0 && fallback != 0) {
+                    fallback = failLinks[fallback];
+                }
+                failLinks[child] = target > 0 && target != child ? target : 0;
+                int suffix = failLinks[child];
+                outputLinks[child] = outputs[suffix] >= 0 ? suffix : outputLinks[suffix];
+                queue.add(child);
+            }
+        }
+        // 绝大多数字符都在根节点上处理，根节点的转移展开为直接寻址表
+        int[] rootTransitions = new int[Character.MAX_VALUE + 1];
+        for (int edge = edgeOffsets[0]; edge < edgeOffsets[1]; edge++) {
+            rootTransitions[edgeChars[edge]] = edgeTargets[edge];
+        }
+        return new SensitiveWordMatcher(words, rootTransitions, edgeOffsets, edgeChars, edgeTargets, failLinks, outputs, outputLinks);
+    }
+
+    /**
+     * 与扫描时使用同一套折叠规则，便于调用方对词典做去重或比较。
+     */
+    public static String normalize(CharSequence text) {
+        char[] folded = new char[text.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = FOLD_TABLE[text.charAt(i)];
+        }
+        return new String(folded);
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    public boolean containsAny(CharSequence text) {
+        return scan(text, true, null) != null;
+    }
+
+    public Match findFirst(CharSequence text) {
+        return scan(text, true, null);
+    }
+
+    public List<Match> findAll(CharSequence text) {
+        List<Match> matches = new ArrayList<>();
+        scan(text, false, matches);
+        return matches;
+    }
+
+    private Match scan(CharSequence text, boolean stopAtFirst, List<Match> sink) {
+        if (text == null || words.length == 0) {
+            return null;
+        }
+        int state = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = FOLD_TABLE[text.charAt(i)];
+            int next = 0;
+            while (state != 0 && (next = step(edgeOffsets, edgeChars, edgeTargets, state, c)) < 0) {
+                state = failLinks[state];
+            }
+            state = state != 0 ? next : rootTransitions[c];
+            int hit = outputs[state] >= 0 ? state : outputLinks[state];
+            while (hit > 0) {
+                String word = words[outputs[hit]];
+                Match match = new Match(i + 1 - word.length(), i + 1, word);
+                if (stopAtFirst) {
+                    return match;
+                }
+                sink.add(match);
+                hit = outputLinks[hit];
+            }
+        }
+        return null;
+    }
+
+    private static int step(int[] edgeOffsets, char[] edgeChars, int[] edgeTargets, int state, char c) {
+        int low = edgeOffsets[state];
+        int high = edgeOffsets[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char value = edgeChars[mid];
+            if (value < c) {
+                low = mid + 1;
+            } else if (value > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    private static char[] buildFoldTable() {
+        char[] table = new char[Character.MAX_VALUE + 1];
+        for (int i = 0; i < table.length; i++) {
+            char c = (char) i;
+            if (c >= '\uFF01' && c <= '\uFF5E') {
+                c = (char) (c - 0xFEE0);
+            } else if (c == '\u3000') {
+                c = ' ';
+            }
+            table[i] = Character.toLowerCase(c);
+        }
+        return table;
+    }
+
+    /**
+     * 一次命中：{@code [start, end)} 为原文中的下标区间，{@code word} 为词典中的原词。
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Match {
+
+        private final int start;
+        private final int end;
+        private final String word;
+
+        @Override
+        public String toString() {
+            return word + "@[" + start + ", " + end + ")";
+        }
+    }
+}
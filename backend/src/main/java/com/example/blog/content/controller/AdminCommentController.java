@@ -2,14 +2,19 @@ package com.example.blog.content.controller;
 
 import com.example.blog.common.api.ApiResponse;
 import com.example.blog.common.api.PageResponse;
+import com.example.blog.content.dto.CommentBatchRequest;
+import com.example.blog.content.dto.CommentBatchResponse;
 import com.example.blog.content.dto.CommentModerationResponse;
 import com.example.blog.content.service.CommentService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -46,4 +51,19 @@ public class AdminCommentController {
         commentService.delete(id);
         return ApiResponse.success();
     }
+
+    @PutMapping("/batch/approve")
+    public ApiResponse<CommentBatchResponse> batchApprove(@Valid @RequestBody CommentBatchRequest request) {
+        return ApiResponse.success(commentService.batchApprove(request.getIds()));
+    }
+
+    @PutMapping("/batch/reject")
+    public ApiResponse<CommentBatchResponse> batchReject(@Valid @RequestBody CommentBatchRequest request) {
+        return ApiResponse.success(commentService.batchReject(request.getIds()));
+    }
+
+    @PostMapping("/batch/delete")
+    public ApiResponse<CommentBatchResponse> batchDelete(@Valid @RequestBody CommentBatchRequest request) {
+        return ApiResponse.success(commentService.batchDelete(request.getIds()));
+    }
 }
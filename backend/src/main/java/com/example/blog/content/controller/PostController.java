@@ -1,5 +1,6 @@
 package com.example.blog.content.controller;
 
+import com.example.blog.analytics.service.AnalyticsService;
 import com.example.blog.common.api.ApiResponse;
 import com.example.blog.common.api.PageResponse;
 import com.example.blog.content.dto.PostDetailResponse;
@@ -25,6 +26,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class PostController {
 
     private final PostService postService;
+    private final AnalyticsService analyticsService;
 
     @GetMapping
     public ApiResponse<PageResponse<PostSummaryResponse>> list(@RequestParam(defaultValue = "1") int page,
@@ -34,7 +36,10 @@ public class PostController {
 
     @GetMapping("/{slug}")
     public ApiResponse<PostDetailResponse> detail(@PathVariable String slug) {
-        return ApiResponse.success(postService.getPublishedPostBySlug(slug));
+        PostDetailResponse post = postService.getPublishedPostBySlug(slug);
+        // 详情走缓存，阅读记录放在缓存之外，每次请求都经过过滤与去重
+        analyticsService.recordPostView(post.getId());
+        return ApiResponse.success(post);
     }
 
     @GetMapping("/manage")
@@ -45,6 +50,12 @@ public class PostController {
         return ApiResponse.success(postService.listAdminPosts(page, size, status));
     }
 
+    @GetMapping("/manage/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ApiResponse<PostDetailResponse> editDetail(@PathVariable Long id) {
+        return ApiResponse.success(postService.getPostForEdit(id));
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ApiResponse<PostDetailResponse> create(@Valid @RequestBody PostRequest request) {
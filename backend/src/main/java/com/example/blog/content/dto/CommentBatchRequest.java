@@ -0,0 +1,16 @@
+package com.example.blog.content.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.Set;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CommentBatchRequest {
+
+    @NotEmpty
+    @Size(max = 500)
+    private Set<Long> ids;
+}
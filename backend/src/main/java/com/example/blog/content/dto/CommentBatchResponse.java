@@ -0,0 +1,12 @@
+package com.example.blog.content.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class CommentBatchResponse {
+
+    private final int requested;
+    private final int affected;
+}
@@ -1,5 +1,6 @@
 package com.example.blog.content.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.LocalDateTime;
 import java.util.List;
 import lombok.Builder;
@@ -14,6 +15,11 @@ public class PostDetailResponse {
     private final String slug;
     private final String summary;
     private final String content;
+    /** 编辑用的原始内容，只在后台接口中返回 */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String contentSource;
+    private final List<TocEntry> toc;
+    private final Integer readingTime;
     private final String coverUrl;
     private final String status;
     private final String authorName;
@@ -29,8 +29,6 @@ public class PostRequest {
     @NotBlank
     private String status;
 
-    private Integer readingTime;
-
     private String seoKeywords;
 
     private Set<Long> tagIds;
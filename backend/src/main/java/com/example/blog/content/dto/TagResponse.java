@@ -2,9 +2,11 @@ package com.example.blog.content.dto;
 
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized
 public class TagResponse {
 
     private final Long id;
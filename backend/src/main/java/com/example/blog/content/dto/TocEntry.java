@@ -0,0 +1,15 @@
+package com.example.blog.content.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TocEntry {
+
+    private int level;
+    private String anchor;
+    private String text;
+}
@@ -22,9 +22,11 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
 @Table(name = "posts")
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -49,6 +51,16 @@ public class Post extends BaseEntity {
     @Column(nullable = false, columnDefinition = "LONGTEXT")
     private String content;
 
+    @Lob
+    @Column(name = "content_html", columnDefinition = "LONGTEXT")
+    private String contentHtml;
+
+    @Column(columnDefinition = "TEXT")
+    private String toc;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "cover_url", length = 500)
     private String coverUrl;
 
@@ -12,9 +12,11 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
 @Table(name = "tags")
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,10 +1,16 @@
 package com.example.blog.content.repository;
 
 import com.example.blog.content.entity.Comment;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
@@ -15,4 +21,31 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     Page<Comment> findByStatus(String status, Pageable pageable);
 
     long countByStatus(String status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Comment c WHERE c.id IN :ids")
+    List<Comment> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 只取出评论树的骨架（不含正文），用于计算删除时被级联删除的子评论。
+     */
+    @Query("SELECT c.id AS id, c.parent.id AS parentId, c.post.id AS postId, c.status AS status " +
+            "FROM Comment c WHERE c.post.id IN :postIds")
+    List<CommentNode> findNodesByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.status = :status, c.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE c.id IN :ids AND c.status <> :status")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    interface CommentNode {
+
+        Long getId();
+
+        Long getParentId();
+
+        Long getPostId();
+
+        String getStatus();
+    }
 }
@@ -0,0 +1,28 @@
+package com.example.blog.content.repository;
+
+import com.example.blog.content.service.PostCounterService.CounterDelta;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 文章计数列的原子增量更新，只改写计数列，不经过实体的读改写。
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostCounterRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void applyDeltas(List<CounterDelta> deltas) {
+        jdbcTemplate.batchUpdate("""
+                UPDATE posts
+                SET view_count = COALESCE(view_count, 0) + ?
+                WHERE id = ?
+                """, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, delta.getViews());
+            ps.setLong(2, delta.getPostId());
+        });
+    }
+}
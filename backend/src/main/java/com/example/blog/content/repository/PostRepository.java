@@ -1,6 +1,9 @@
 package com.example.blog.content.repository;
 
 import com.example.blog.content.entity.Post;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -34,7 +37,51 @@ public interface PostRepository extends JpaRepository<Post, Long> {
             nativeQuery = true)
     Page<Post> searchPublishedFulltext(@Param("keyword") String keyword, Pageable pageable);
 
-    @Modifying(clearAutomatically = true)
-    @Query("UPDATE Post p SET p.viewCount = COALESCE(p.viewCount, 0) + :delta WHERE p.id = :postId")
-    void increaseViewCount(@Param("postId") Long postId, @Param("delta") long delta);
+    /**
+     * 按 ID 批量加载已发布文章及作者、标签，供列表摘要一次性组装。
+     */
+    @Query("SELECT DISTINCT p FROM Post p JOIN FETCH p.author LEFT JOIN FETCH p.tags " +
+            "WHERE p.id IN :ids AND p.deletedAt IS NULL AND LOWER(p.status) = 'published'")
+    List<Post> findPublishedWithAuthorAndTags(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t.id FROM Post p JOIN p.tags t WHERE p.id = :postId")
+    List<Long> findTagIds(@Param("postId") Long postId);
+
+    /**
+     * 若干标签下最新发布的文章，只取 ID 和发布时间，用于重建订阅时间线。
+     */
+    @Query("SELECT DISTINCT p.id AS id, p.publishedAt AS publishedAt FROM Post p JOIN p.tags t " +
+            "WHERE t.id IN :tagIds AND p.deletedAt IS NULL AND LOWER(p.status) = 'published' " +
+            "ORDER BY p.publishedAt DESC")
+    List<TimelineEntry> findTimelineByTagIds(@Param("tagIds") Collection<Long> tagIds, Pageable pageable);
+
+    @Modifying
+    @Query(value = "UPDATE posts SET comment_count = GREATEST(CAST(comment_count AS SIGNED) + :delta, 0) " +
+            "WHERE id = :postId", nativeQuery = true)
+    void increaseCommentCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+    /**
+     * 只取排行榜展示需要的列，不加载正文。
+     */
+    @Query("SELECT p.id AS id, p.title AS title, p.slug AS slug, p.viewCount AS viewCount FROM Post p " +
+            "WHERE p.id IN :ids AND p.deletedAt IS NULL AND LOWER(p.status) = 'published'")
+    List<PostRef> findPublishedRefs(@Param("ids") Collection<Long> ids);
+
+    interface PostRef {
+
+        Long getId();
+
+        String getTitle();
+
+        String getSlug();
+
+        Integer getViewCount();
+    }
+
+    interface TimelineEntry {
+
+        Long getId();
+
+        LocalDateTime getPublishedAt();
+    }
 }
@@ -5,10 +5,40 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface TagRepository extends JpaRepository<Tag, Long> {
 
     List<Tag> findByIdIn(Collection<Long> ids);
 
     Optional<Tag> findByName(String name);
+
+    @Modifying
+    @Query(value = "UPDATE tags SET post_count = GREATEST(CAST(post_count AS SIGNED) + :delta, 0) WHERE id IN (:ids)",
+            nativeQuery = true)
+    int increasePostCount(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+
+    /**
+     * 以 post_tags 中已发布且未删除的文章为准修正一段 ID 区间内标签的 post_count，只改写存在偏差的行。
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE tags t
+            LEFT JOIN (SELECT pt.tag_id, COUNT(*) AS total
+                       FROM post_tags pt
+                       JOIN posts p ON p.id = pt.post_id
+                       WHERE pt.tag_id BETWEEN :fromId AND :toId
+                         AND p.deleted_at IS NULL AND LOWER(p.status) = 'published'
+                       GROUP BY pt.tag_id) c ON c.tag_id = t.id
+            SET t.post_count = COALESCE(c.total, 0)
+            WHERE t.id BETWEEN :fromId AND :toId AND t.post_count <> COALESCE(c.total, 0)
+            """, nativeQuery = true)
+    int reconcilePostCounts(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM Tag t")
+    long findMaxId();
 }
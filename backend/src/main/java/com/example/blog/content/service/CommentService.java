@@ -9,17 +9,26 @@ import com.example.blog.common.exception.ResourceNotFoundException;
 import com.example.blog.common.service.AuditLogService;
 import com.example.blog.common.service.SensitiveWordFilter;
 import com.example.blog.common.util.ContentSanitizer;
+import com.example.blog.content.dto.CommentBatchResponse;
 import com.example.blog.content.dto.CommentModerationResponse;
 import com.example.blog.content.dto.CommentRequest;
 import com.example.blog.content.dto.CommentResponse;
 import com.example.blog.content.entity.Comment;
 import com.example.blog.content.entity.Post;
 import com.example.blog.content.repository.CommentRepository;
+import com.example.blog.content.repository.CommentRepository.CommentNode;
 import com.example.blog.content.repository.PostRepository;
+import com.example.blog.realtime.service.LiveEventPublisher;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -40,6 +49,7 @@ public class CommentService {
     private final AuditLogService auditLogService;
     private final ContentSanitizer contentSanitizer;
     private final SensitiveWordFilter sensitiveWordFilter;
+    private final LiveEventPublisher liveEventPublisher;
 
     @Transactional(readOnly = true)
     public List<CommentResponse> listApproved(Long postId) {
@@ -90,6 +100,8 @@ public class CommentService {
         }
         Comment saved = commentRepository.save(comment);
         auditLogService.record("CREATE_COMMENT", "Comment", saved.getId(), Map.of("postId", postId));
+        liveEventPublisher.publishAfterCommit(LiveEventPublisher.TYPE_COMMENT_PENDING, postId,
+                Map.of("commentId", saved.getId(), "postId", postId));
         return toResponse(saved, List.of());
     }
 
@@ -130,29 +142,129 @@ public class CommentService {
 
     @Transactional
     public void delete(Long id) {
-        Comment comment = commentRepository.findById(id)
+        Comment comment = commentRepository.findAllByIdForUpdate(List.of(id)).stream()
+                .findFirst()
                 .orElseThrow(() -> new ResourceNotFoundException("评论不存在"));
-        Long postId = comment.getPost().getId();
-        commentRepository.delete(comment);
-        refreshCommentCount(postId);
-        auditLogService.record("DELETE_COMMENT", "Comment", id, Map.of("postId", postId));
+        removeComments(List.of(comment));
+    }
+
+    @Transactional
+    public CommentBatchResponse batchApprove(Collection<Long> ids) {
+        return batchUpdateStatus(ids, STATUS_APPROVED);
+    }
+
+    @Transactional
+    public CommentBatchResponse batchReject(Collection<Long> ids) {
+        return batchUpdateStatus(ids, STATUS_REJECTED);
+    }
+
+    @Transactional
+    public CommentBatchResponse batchDelete(Collection<Long> ids) {
+        List<Comment> comments = commentRepository.findAllByIdForUpdate(ids);
+        removeComments(comments);
+        return CommentBatchResponse.builder()
+                .requested(ids.size())
+                .affected(comments.size())
+                .build();
     }
 
     private void updateStatus(Long id, String status) {
-        Comment comment = commentRepository.findById(id)
+        Comment comment = commentRepository.findAllByIdForUpdate(List.of(id)).stream()
+                .findFirst()
                 .orElseThrow(() -> new ResourceNotFoundException("评论不存在"));
+        String previous = comment.getStatus();
+        if (status.equals(previous)) {
+            return;
+        }
         comment.setStatus(status);
         commentRepository.save(comment);
-        refreshCommentCount(comment.getPost().getId());
-        auditLogService.record("COMMENT_" + status.toUpperCase(), "Comment", id, Map.of("postId", comment.getPost().getId()));
+        Long postId = comment.getPost().getId();
+        adjustCommentCount(postId, approvedDelta(previous, status));
+        auditLogService.record("COMMENT_" + status.toUpperCase(), "Comment", id, Map.of("postId", postId));
+        if (STATUS_APPROVED.equals(status)) {
+            publishApproved(comment);
+        }
     }
 
-    private void refreshCommentCount(Long postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("文章不存在"));
-        Long count = commentRepository.countByPostIdAndStatus(postId, STATUS_APPROVED);
-        post.setCommentCount(count != null ? count.intValue() : 0);
-        postRepository.save(post);
+    private CommentBatchResponse batchUpdateStatus(Collection<Long> ids, String status) {
+        List<Comment> changed = commentRepository.findAllByIdForUpdate(ids).stream()
+                .filter(comment -> !status.equals(comment.getStatus()))
+                .toList();
+        if (!changed.isEmpty()) {
+            Map<Long, Integer> deltas = new HashMap<>();
+            for (Comment comment : changed) {
+                deltas.merge(comment.getPost().getId(), approvedDelta(comment.getStatus(), status), Integer::sum);
+            }
+            commentRepository.updateStatusByIdIn(changed.stream().map(Comment::getId).toList(), status);
+            deltas.forEach(this::adjustCommentCount);
+            for (Comment comment : changed) {
+                auditLogService.record("COMMENT_" + status.toUpperCase(), "Comment", comment.getId(),
+                        Map.of("postId", comment.getPost().getId()));
+                if (STATUS_APPROVED.equals(status)) {
+                    publishApproved(comment);
+                }
+            }
+        }
+        return CommentBatchResponse.builder()
+                .requested(ids.size())
+                .affected(changed.size())
+                .build();
+    }
+
+    /**
+     * 删除评论时数据库会级联删除其所有子评论，因此需要沿评论树统计被一并删除的已审核评论数。
+     */
+    private void removeComments(List<Comment> comments) {
+        if (comments.isEmpty()) {
+            return;
+        }
+        Set<Long> postIds = comments.stream().map(comment -> comment.getPost().getId()).collect(Collectors.toSet());
+        Map<Long, CommentNode> nodes = new HashMap<>();
+        Map<Long, List<Long>> childrenByParent = new HashMap<>();
+        for (CommentNode node : commentRepository.findNodesByPostIdIn(postIds)) {
+            nodes.put(node.getId(), node);
+            if (node.getParentId() != null) {
+                childrenByParent.computeIfAbsent(node.getParentId(), key -> new ArrayList<>()).add(node.getId());
+            }
+        }
+        Map<Long, Integer> deltas = new HashMap<>();
+        Set<Long> visited = new HashSet<>();
+        Deque<Long> pending = new ArrayDeque<>();
+        comments.forEach(comment -> pending.push(comment.getId()));
+        while (!pending.isEmpty()) {
+            Long id = pending.pop();
+            if (!visited.add(id)) {
+                continue;
+            }
+            CommentNode node = nodes.get(id);
+            if (node != null && STATUS_APPROVED.equals(node.getStatus())) {
+                deltas.merge(node.getPostId(), -1, Integer::sum);
+            }
+            childrenByParent.getOrDefault(id, List.of()).forEach(pending::push);
+        }
+        commentRepository.deleteAllByIdInBatch(comments.stream().map(Comment::getId).toList());
+        deltas.forEach(this::adjustCommentCount);
+        for (Comment comment : comments) {
+            auditLogService.record("DELETE_COMMENT", "Comment", comment.getId(), Map.of("postId", comment.getPost().getId()));
+        }
+    }
+
+    /**
+     * 推送内容在事务内组装（需要加载作者），提交后才发布。
+     */
+    private void publishApproved(Comment comment) {
+        liveEventPublisher.publishAfterCommit(LiveEventPublisher.TYPE_COMMENT, comment.getPost().getId(),
+                toResponse(comment, List.of()));
+    }
+
+    private int approvedDelta(String previous, String next) {
+        return (STATUS_APPROVED.equals(next) ? 1 : 0) - (STATUS_APPROVED.equals(previous) ? 1 : 0);
+    }
+
+    private void adjustCommentCount(Long postId, int delta) {
+        if (delta != 0) {
+            postRepository.increaseCommentCount(postId, delta);
+        }
     }
 
     private CommentResponse toResponse(Comment comment, List<CommentResponse> children) {
@@ -0,0 +1,167 @@
+package com.example.blog.content.service;
+
+import com.example.blog.common.util.ContentSanitizer;
+import com.example.blog.content.dto.TocEntry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.node.AbstractVisitor;
+import org.commonmark.node.Code;
+import org.commonmark.node.FencedCodeBlock;
+import org.commonmark.node.Heading;
+import org.commonmark.node.IndentedCodeBlock;
+import org.commonmark.node.Node;
+import org.commonmark.node.Text;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.stereotype.Service;
+
+/**
+ * 保存文章时将 Markdown 正文渲染为清洗后的 HTML，并生成目录与阅读时长，结果随文章一起落库。
+ */
+@Service
+@RequiredArgsConstructor
+public class MarkdownRenderService {
+
+    private static final int TOC_MAX_LEVEL = 3;
+    private static final double CJK_CHARS_PER_MINUTE = 400d;
+    private static final double WORDS_PER_MINUTE = 200d;
+    private static final List<Extension> EXTENSIONS = List.of(TablesExtension.create(), StrikethroughExtension.create());
+    private static final Parser PARSER = Parser.builder().extensions(EXTENSIONS).build();
+
+    private final ContentSanitizer contentSanitizer;
+
+    public RenderedContent render(String source) {
+        Node document = PARSER.parse(source != null ? source : "");
+        Map<Node, String> anchors = new IdentityHashMap<>();
+        List<TocEntry> toc = new ArrayList<>();
+        TextStatistics statistics = new TextStatistics();
+        Map<String, Integer> usedAnchors = new HashMap<>();
+        document.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Heading heading) {
+                String text = collectText(heading).trim();
+                String anchor = uniqueAnchor(slugify(text), usedAnchors);
+                anchors.put(heading, anchor);
+                if (heading.getLevel() <= TOC_MAX_LEVEL) {
+                    toc.add(new TocEntry(heading.getLevel(), anchor, text));
+                }
+                visitChildren(heading);
+            }
+
+            @Override
+            public void visit(Text text) {
+                statistics.accept(text.getLiteral());
+            }
+
+            @Override
+            public void visit(Code code) {
+                statistics.accept(code.getLiteral());
+            }
+
+            @Override
+            public void visit(FencedCodeBlock codeBlock) {
+                statistics.accept(codeBlock.getLiteral());
+            }
+
+            @Override
+            public void visit(IndentedCodeBlock codeBlock) {
+                statistics.accept(codeBlock.getLiteral());
+            }
+        });
+        // 锚点随每次渲染变化，渲染器构建开销很小，按次创建以便注入本次的锚点
+        HtmlRenderer renderer = HtmlRenderer.builder()
+                .extensions(EXTENSIONS)
+                .attributeProviderFactory(context -> (node, tagName, attributes) -> {
+                    String anchor = anchors.get(node);
+                    if (anchor != null) {
+                        attributes.put("id", anchor);
+                    }
+                })
+                .build();
+        String html = contentSanitizer.sanitizeArticle(renderer.render(document));
+        return new RenderedContent(html != null ? html : "", toc, statistics.readingMinutes());
+    }
+
+    private static String collectText(Node node) {
+        StringBuilder builder = new StringBuilder();
+        node.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Text text) {
+                builder.append(text.getLiteral());
+            }
+
+            @Override
+            public void visit(Code code) {
+                builder.append(code.getLiteral());
+            }
+        });
+        return builder.toString();
+    }
+
+    private static String slugify(String text) {
+        StringBuilder slug = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                slug.append(c);
+            } else if ((c == ' ' || c == '-' || c == '_') && !slug.isEmpty() && slug.charAt(slug.length() - 1) != '-') {
+                slug.append('-');
+            }
+        }
+        while (!slug.isEmpty() && slug.charAt(slug.length() - 1) == '-') {
+            slug.setLength(slug.length() - 1);
+        }
+        return "h-" + (slug.isEmpty() ? "section" : slug.toString().toLowerCase(Locale.ROOT));
+    }
+
+    private static String uniqueAnchor(String base, Map<String, Integer> used) {
+        int count = used.merge(base, 1, Integer::sum);
+        return count == 1 ? base : base + "-" + (count - 1);
+    }
+
+    private static final class TextStatistics {
+
+        private long cjkChars;
+        private long words;
+
+        void accept(String text) {
+            boolean inWord = false;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN) {
+                    cjkChars++;
+                    inWord = false;
+                } else if (Character.isLetterOrDigit(c)) {
+                    if (!inWord) {
+                        words++;
+                        inWord = true;
+                    }
+                } else {
+                    inWord = false;
+                }
+            }
+        }
+
+        int readingMinutes() {
+            return (int) Math.max(1, Math.ceil(cjkChars / CJK_CHARS_PER_MINUTE + words / WORDS_PER_MINUTE));
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class RenderedContent {
+
+        private final String html;
+        private final List<TocEntry> toc;
+        private final int readingTime;
+    }
+}
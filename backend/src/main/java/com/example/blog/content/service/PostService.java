@@ -1,6 +1,5 @@
 package com.example.blog.content.service;
 
-import com.example.blog.analytics.service.AnalyticsService;
 import com.example.blog.auth.repository.UserRepository;
 import com.example.blog.auth.util.SecurityUtils;
 import com.example.blog.common.api.PageResponse;
@@ -10,17 +9,25 @@ import com.example.blog.common.exception.ResourceNotFoundException;
 import com.example.blog.common.service.AuditLogService;
 import com.example.blog.common.service.SensitiveWordFilter;
 import com.example.blog.common.util.ContentSanitizer;
+import com.example.blog.common.util.HashUtils;
 import com.example.blog.content.dto.PostDetailResponse;
 import com.example.blog.content.dto.PostRequest;
 import com.example.blog.content.dto.PostSummaryResponse;
+import com.example.blog.content.dto.TocEntry;
 import com.example.blog.content.entity.Post;
 import com.example.blog.content.entity.Tag;
 import com.example.blog.content.repository.PostRepository;
 import com.example.blog.content.repository.TagRepository;
+import com.example.blog.content.service.MarkdownRenderService.RenderedContent;
 import com.example.blog.interaction.repository.FavoriteRepository;
-import com.example.blog.interaction.repository.LikeRepository;
+import com.example.blog.interaction.service.FeedFanoutQueue;
+import com.example.blog.interaction.service.LikeCacheService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -40,15 +47,21 @@ import org.springframework.util.StringUtils;
 @RequiredArgsConstructor
 public class PostService {
 
+    private static final TypeReference<List<TocEntry>> TOC_TYPE = new TypeReference<>() {
+    };
+
     private final PostRepository postRepository;
     private final TagRepository tagRepository;
     private final UserRepository userRepository;
-    private final AnalyticsService analyticsService;
-    private final LikeRepository likeRepository;
+    private final LikeCacheService likeCacheService;
     private final FavoriteRepository favoriteRepository;
     private final ContentSanitizer contentSanitizer;
     private final SensitiveWordFilter sensitiveWordFilter;
     private final AuditLogService auditLogService;
+    private final MarkdownRenderService markdownRenderService;
+    private final ObjectMapper objectMapper;
+    private final FeedFanoutQueue feedFanoutQueue;
+    private final TagService tagService;
 
     @Transactional(readOnly = true)
     @Cacheable(cacheNames = "posts:published", key = "#page + ':' + #size")
@@ -69,9 +82,20 @@ public class PostService {
         Post post = postRepository.findBySlugAndDeletedAtIsNull(slug)
                 .filter(Post::isPublished)
                 .orElseThrow(() -> new ResourceNotFoundException("文章不存在或未发布"));
-        analyticsService.recordPostView(post);
         post.setViewCount((post.getViewCount() == null ? 0 : post.getViewCount()) + 1);
-        return toDetail(post);
+        return toDetail(post, false);
+    }
+
+    /**
+     * 批量组装文章摘要，已删除或未发布的文章不在结果中。
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, PostSummaryResponse> loadPublishedSummaries(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return postRepository.findPublishedWithAuthorAndTags(ids).stream()
+                .collect(Collectors.toMap(Post::getId, this::toSummary));
     }
 
     @Transactional(readOnly = true)
@@ -140,8 +164,12 @@ public class PostService {
         post.setAuthor(userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("用户不存在")));
         Post saved = postRepository.save(post);
+        tagService.adjustPostCounts(Set.of(), countedTagIds(saved));
+        if (saved.isPublished()) {
+            feedFanoutQueue.enqueueAfterCommit(saved.getId());
+        }
         auditLogService.record("CREATE_POST", "Post", saved.getId(), Map.of("title", saved.getTitle()));
-        return toDetail(saved);
+        return toDetail(saved, true);
     }
 
     @Transactional
@@ -152,10 +180,27 @@ public class PostService {
         if (!post.getSlug().equals(request.getSlug()) && postRepository.existsBySlug(request.getSlug())) {
             throw new BusinessException(ErrorCode.BAD_REQUEST, "Slug 已存在");
         }
+        boolean wasPublished = post.isPublished();
+        Set<Long> countedBefore = countedTagIds(post);
         applyRequest(post, request);
         Post saved = postRepository.save(post);
+        tagService.adjustPostCounts(countedBefore, countedTagIds(saved));
+        if (!wasPublished && saved.isPublished()) {
+            feedFanoutQueue.enqueueAfterCommit(saved.getId());
+        }
         auditLogService.record("UPDATE_POST", "Post", saved.getId(), Map.of("status", saved.getStatus()));
-        return toDetail(saved);
+        return toDetail(saved, true);
+    }
+
+    /**
+     * 后台编辑读取：任意状态的文章，带编辑用的原始内容，不计阅读量。
+     */
+    @Transactional(readOnly = true)
+    public PostDetailResponse getPostForEdit(Long id) {
+        Post post = postRepository.findById(id)
+                .filter(found -> found.getDeletedAt() == null)
+                .orElseThrow(() -> new ResourceNotFoundException("文章不存在"));
+        return toDetail(post, true);
     }
 
     @Transactional
@@ -163,22 +208,29 @@ public class PostService {
     public void delete(Long id) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("文章不存在"));
+        Set<Long> countedBefore = countedTagIds(post);
         post.setDeletedAt(LocalDateTime.now());
         postRepository.save(post);
+        tagService.adjustPostCounts(countedBefore, Set.of());
         auditLogService.record("DELETE_POST", "Post", id, Map.of("title", post.getTitle()));
     }
 
     private void applyRequest(Post post, PostRequest request) {
-        sensitiveWordFilter.assertClean(request.getTitle());
-        sensitiveWordFilter.assertClean(request.getSummary());
-        sensitiveWordFilter.assertClean(request.getContent());
+        sensitiveWordFilter.assertClean(request.getTitle(), request.getSummary(), request.getContent());
         post.setTitle(request.getTitle());
         post.setSlug(request.getSlug());
         post.setSummary(contentSanitizer.sanitize(request.getSummary()));
-        post.setContent(contentSanitizer.sanitize(request.getContent()));
+        String contentHash = HashUtils.sha256Hex(request.getContent());
+        if (!contentHash.equals(post.getContentHash())) {
+            RenderedContent rendered = markdownRenderService.render(request.getContent());
+            post.setContent(request.getContent());
+            post.setContentHtml(rendered.getHtml());
+            post.setToc(writeToc(rendered.getToc()));
+            post.setReadingTime(rendered.getReadingTime());
+            post.setContentHash(contentHash);
+        }
         post.setCoverUrl(request.getCoverUrl());
         post.setStatus(request.getStatus());
-        post.setReadingTime(request.getReadingTime());
         post.setSeoKeywords(request.getSeoKeywords());
         if ("published".equalsIgnoreCase(request.getStatus()) && post.getPublishedAt() == null) {
             post.setPublishedAt(LocalDateTime.now());
@@ -186,6 +238,16 @@ public class PostService {
         post.setTags(resolveTags(request.getTagIds()));
     }
 
+    /**
+     * 文章当前计入标签 post_count 的标签 ID：只有已发布且未删除的文章计入。
+     */
+    private Set<Long> countedTagIds(Post post) {
+        if (!post.isPublished()) {
+            return Set.of();
+        }
+        return post.getTags().stream().map(Tag::getId).collect(Collectors.toSet());
+    }
+
     private Set<Tag> resolveTags(Set<Long> ids) {
         if (ids == null || ids.isEmpty()) {
             return new HashSet<>();
@@ -213,16 +275,22 @@ public class PostService {
                 .build();
     }
 
-    private PostDetailResponse toDetail(Post post) {
+    /**
+     * @param includeSource 是否带上原始 Markdown/HTML，只用于后台编辑，公开详情不返回
+     */
+    private PostDetailResponse toDetail(Post post, boolean includeSource) {
         Long userId = SecurityUtils.getCurrentUserId();
-        boolean liked = userId != null && likeRepository.existsByUserIdAndPostId(userId, post.getId());
+        boolean liked = userId != null && likeCacheService.isLiked(post.getId(), userId);
         boolean favorited = userId != null && favoriteRepository.existsByUserIdAndPostId(userId, post.getId());
         return PostDetailResponse.builder()
                 .id(post.getId())
                 .title(post.getTitle())
                 .slug(post.getSlug())
                 .summary(post.getSummary())
-                .content(post.getContent())
+                .content(post.getContentHtml())
+                .contentSource(includeSource ? post.getContent() : null)
+                .toc(readToc(post.getToc()))
+                .readingTime(post.getReadingTime())
                 .coverUrl(post.getCoverUrl())
                 .status(post.getStatus())
                 .authorName(post.getAuthor().getNickname() != null ? post.getAuthor().getNickname() : post.getAuthor().getUsername())
@@ -236,6 +304,25 @@ public class PostService {
                 .build();
     }
 
+    private String writeToc(List<TocEntry> toc) {
+        try {
+            return objectMapper.writeValueAsString(toc);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("目录序列化失败", ex);
+        }
+    }
+
+    private List<TocEntry> readToc(String toc) {
+        if (!StringUtils.hasText(toc)) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(toc, TOC_TYPE);
+        } catch (JsonProcessingException ex) {
+            return List.of();
+        }
+    }
+
     private String buildBooleanModeKeyword(String keyword) {
         if (!StringUtils.hasText(keyword)) {
             return "";
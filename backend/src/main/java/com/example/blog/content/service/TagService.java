@@ -8,46 +8,57 @@ import com.example.blog.content.dto.TagRequest;
 import com.example.blog.content.dto.TagResponse;
 import com.example.blog.content.entity.Tag;
 import com.example.blog.content.repository.TagRepository;
-import com.example.blog.interaction.entity.Subscription;
-import com.example.blog.interaction.repository.SubscriptionRepository;
-import java.util.Collections;
+import com.example.blog.interaction.service.TagSubscriptionCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @RequiredArgsConstructor
 public class TagService {
 
+    private static final String KEY_TAG_LIST = "tags:all";
+    private static final Duration TAG_LIST_TTL = Duration.ofMinutes(10);
+    private static final long RECONCILE_CHUNK = 1000L;
+    private static final TypeReference<List<TagResponse>> TAG_LIST_TYPE = new TypeReference<>() {
+    };
+
     private final TagRepository tagRepository;
-    private final SubscriptionRepository subscriptionRepository;
+    private final TagSubscriptionCache tagSubscriptionCache;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
     private final AuditLogService auditLogService;
 
+    /**
+     * 标签列表全站共用一份缓存，当前用户的订阅状态在返回前从 {@link TagSubscriptionCache} 合并。
+     */
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "tags:list", key = "#userId != null ? 'user:' + #userId : 'guest'")
     public List<TagResponse> findAll(Long userId) {
-        Set<Long> subscribed = Collections.emptySet();
-        if (userId != null) {
-            subscribed = subscriptionRepository.findByUserId(userId).stream()
-                    .map(Subscription::getTag)
-                    .filter(tag -> tag != null && tag.getId() != null)
-                    .map(Tag::getId)
-                    .collect(Collectors.toSet());
+        List<TagResponse> tags = loadTags();
+        if (userId == null) {
+            return tags;
+        }
+        Set<Long> subscribed = tagSubscriptionCache.subscribedTagIds(userId);
+        if (subscribed.isEmpty()) {
+            return tags;
         }
-        Set<Long> finalSubscribed = subscribed;
-        return tagRepository.findAll().stream()
-                .map(tag -> toResponse(tag, finalSubscribed.contains(tag.getId())))
+        return tags.stream()
+                .map(tag -> subscribed.contains(tag.getId()) ? tag.toBuilder().subscribed(true).build() : tag)
                 .toList();
     }
 
     @Transactional
-    @CacheEvict(cacheNames = "tags:list", allEntries = true)
     public TagResponse create(TagRequest request) {
         tagRepository.findByName(request.getName()).ifPresent(tag -> {
             throw new BusinessException(ErrorCode.BAD_REQUEST, "标签名已存在");
@@ -57,12 +68,12 @@ public class TagService {
                 .description(request.getDescription())
                 .build();
         Tag saved = tagRepository.save(tag);
+        evictTagListAfterCommit();
         auditLogService.record("CREATE_TAG", "Tag", saved.getId(), Map.of("name", saved.getName()));
         return toResponse(saved, false);
     }
 
     @Transactional
-    @CacheEvict(cacheNames = "tags:list", allEntries = true)
     public TagResponse update(Long id, TagRequest request) {
         Tag tag = tagRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("标签不存在"));
@@ -74,19 +85,86 @@ public class TagService {
         tag.setName(request.getName());
         tag.setDescription(request.getDescription());
         Tag saved = tagRepository.save(tag);
+        evictTagListAfterCommit();
         auditLogService.record("UPDATE_TAG", "Tag", saved.getId(), Map.of("name", saved.getName()));
         return toResponse(saved, false);
     }
 
     @Transactional
-    @CacheEvict(cacheNames = "tags:list", allEntries = true)
     public void delete(Long id) {
         Tag tag = tagRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("标签不存在"));
         tagRepository.delete(tag);
+        evictTagListAfterCommit();
         auditLogService.record("DELETE_TAG", "Tag", id, Map.of("name", tag.getName()));
     }
 
+    /**
+     * 按文章修改前后计入统计的标签（只有已发布且未删除的文章计入）调整 post_count，需在文章的写事务内调用。
+     */
+    @Transactional
+    public void adjustPostCounts(Set<Long> before, Set<Long> after) {
+        Set<Long> added = new HashSet<>(after);
+        added.removeAll(before);
+        Set<Long> removed = new HashSet<>(before);
+        removed.removeAll(after);
+        if (!added.isEmpty()) {
+            tagRepository.increasePostCount(added, 1);
+        }
+        if (!removed.isEmpty()) {
+            tagRepository.increasePostCount(removed, -1);
+        }
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            evictTagListAfterCommit();
+        }
+    }
+
+    /**
+     * 分段修正 post_count，每段一个短事务。
+     *
+     * @return 被修正的标签数
+     */
+    public int reconcilePostCounts() {
+        long maxId = tagRepository.findMaxId();
+        int fixed = 0;
+        for (long from = 1; from <= maxId; from += RECONCILE_CHUNK) {
+            fixed += tagRepository.reconcilePostCounts(from, from + RECONCILE_CHUNK - 1);
+        }
+        if (fixed > 0) {
+            redisTemplate.delete(KEY_TAG_LIST);
+        }
+        return fixed;
+    }
+
+    private List<TagResponse> loadTags() {
+        String cached = redisTemplate.opsForValue().get(KEY_TAG_LIST);
+        if (cached != null) {
+            try {
+                return objectMapper.readValue(cached, TAG_LIST_TYPE);
+            } catch (JsonProcessingException ex) {
+                redisTemplate.delete(KEY_TAG_LIST);
+            }
+        }
+        List<TagResponse> tags = tagRepository.findAll().stream()
+                .map(tag -> toResponse(tag, false))
+                .toList();
+        try {
+            redisTemplate.opsForValue().set(KEY_TAG_LIST, objectMapper.writeValueAsString(tags), TAG_LIST_TTL);
+        } catch (JsonProcessingException ignored) {
+            // 缓存写入失败不影响本次结果
+        }
+        return tags;
+    }
+
+    private void evictTagListAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                redisTemplate.delete(KEY_TAG_LIST);
+            }
+        });
+    }
+
     private TagResponse toResponse(Tag tag, boolean subscribed) {
         return TagResponse.builder()
                 .id(tag.getId())
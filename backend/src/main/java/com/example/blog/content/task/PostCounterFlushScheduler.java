@@ -0,0 +1,23 @@
+package com.example.blog.content.task;
+
+import com.example.blog.common.service.ScheduledJobRunner;
+import com.example.blog.content.service.PostCounterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PostCounterFlushScheduler {
+
+    private final PostCounterService postCounterService;
+    private final ScheduledJobRunner scheduledJobRunner;
+
+    /**
+     * 计数缓冲在每个节点的内存中，各节点都要执行。
+     */
+    @Scheduled(fixedDelay = 2000L)
+    public void flushCounters() {
+        scheduledJobRunner.run("post-counter-flush", postCounterService::flush);
+    }
+}
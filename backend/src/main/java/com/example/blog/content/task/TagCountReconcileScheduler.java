@@ -0,0 +1,27 @@
+package com.example.blog.content.task;
+
+import com.example.blog.common.service.ScheduledJobRunner;
+import com.example.blog.content.service.TagService;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class TagCountReconcileScheduler {
+
+    private static final String JOB_NAME = "tag-count-reconcile";
+
+    private final TagService tagService;
+    private final ScheduledJobRunner scheduledJobRunner;
+
+    /**
+     * 兜底修正 post_count 与 post_tags 之间的漂移。
+     */
+    @Scheduled(cron = "0 40 3 * * ?")
+    public void reconcilePostCounts() {
+        scheduledJobRunner.runExclusive(JOB_NAME, Duration.ofMinutes(30), Duration.ofMinutes(5),
+                tagService::reconcilePostCounts);
+    }
+}
@@ -1,15 +1,25 @@
 package com.example.blog.interaction.controller;
 
 import com.example.blog.common.api.ApiResponse;
+import com.example.blog.common.api.CursorResponse;
+import com.example.blog.content.dto.PostSummaryResponse;
 import com.example.blog.interaction.dto.InteractionResponse;
+import com.example.blog.interaction.dto.PostInteractionState;
 import com.example.blog.interaction.dto.SubscriptionResponse;
+import com.example.blog.interaction.service.FeedService;
+import com.example.blog.interaction.service.InteractionHistoryService;
 import com.example.blog.interaction.service.InteractionService;
 import com.example.blog.interaction.service.SubscriptionService;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -19,6 +29,13 @@ public class InteractionController {
 
     private final InteractionService interactionService;
     private final SubscriptionService subscriptionService;
+    private final InteractionHistoryService interactionHistoryService;
+    private final FeedService feedService;
+
+    @GetMapping("/posts/interactions")
+    public ApiResponse<List<PostInteractionState>> states(@RequestParam List<Long> ids) {
+        return ApiResponse.success(interactionService.getInteractionStates(ids));
+    }
 
     @PostMapping("/posts/{postId}/like")
     @PreAuthorize("isAuthenticated()")
@@ -26,15 +43,72 @@ public class InteractionController {
         return ApiResponse.success(interactionService.toggleLike(postId));
     }
 
+    @PutMapping("/posts/{postId}/like")
+    @PreAuthorize("isAuthenticated()")
+    public ApiResponse<InteractionResponse> setLike(@PathVariable Long postId) {
+        return ApiResponse.success(interactionService.setLike(postId, true));
+    }
+
+    @DeleteMapping("/posts/{postId}/like")
+    @PreAuthorize("isAuthenticated()")
+    public ApiResponse<InteractionResponse> unsetLike(@PathVariable Long postId) {
+        return ApiResponse.success(interactionService.setLike(postId, false));
+    }
+
     @PostMapping("/posts/{postId}/favorite")
     @PreAuthorize("isAuthenticated()")
     public ApiResponse<InteractionResponse> favorite(@PathVariable Long postId) {
         return ApiResponse.success(interactionService.toggleFavorite(postId));
     }
 
+    @PutMapping("/posts/{postId}/favorite")
+    @PreAuthorize("isAuthenticated()")
+    public ApiResponse<InteractionResponse> setFavorite(@PathVariable Long postId) {
+        return ApiResponse.success(interactionService.setFavorite(postId, true));
+    }
+
+    @DeleteMapping("/posts/{postId}/favorite")
+    @PreAuthorize("isAuthenticated()")
+    public ApiResponse<InteractionResponse> unsetFavorite(@PathVariable Long postId) {
+        return ApiResponse.success(interactionService.setFavorite(postId, false));
+    }
+
+    @GetMapping("/me/favorites")
+    @PreAuthorize("isAuthenticated()")
+    public ApiResponse<CursorResponse<PostSummaryResponse>> myFavorites(@RequestParam(required = false) String cursor,
+                                                                        @RequestParam(defaultValue = "20") int size) {
+        return ApiResponse.success(interactionHistoryService.listFavorites(cursor, size));
+    }
+
+    @GetMapping("/me/likes")
+    @PreAuthorize("isAuthenticated()")
+    public ApiResponse<CursorResponse<PostSummaryResponse>> myLikes(@RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "20") int size) {
+        return ApiResponse.success(interactionHistoryService.listLikes(cursor, size));
+    }
+
+    @GetMapping("/me/feed")
+    @PreAuthorize("isAuthenticated()")
+    public ApiResponse<CursorResponse<PostSummaryResponse>> myFeed(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = "20") int size) {
+        return ApiResponse.success(feedService.listFeed(cursor, size));
+    }
+
     @PostMapping("/tags/{tagId}/subscribe")
     @PreAuthorize("isAuthenticated()")
     public ApiResponse<SubscriptionResponse> subscribe(@PathVariable Long tagId) {
         return ApiResponse.success(subscriptionService.toggle(tagId));
     }
+
+    @PutMapping("/tags/{tagId}/subscribe")
+    @PreAuthorize("isAuthenticated()")
+    public ApiResponse<SubscriptionResponse> setSubscription(@PathVariable Long tagId) {
+        return ApiResponse.success(subscriptionService.set(tagId, true));
+    }
+
+    @DeleteMapping("/tags/{tagId}/subscribe")
+    @PreAuthorize("isAuthenticated()")
+    public ApiResponse<SubscriptionResponse> unsetSubscription(@PathVariable Long tagId) {
+        return ApiResponse.success(subscriptionService.set(tagId, false));
+    }
 }
@@ -0,0 +1,13 @@
+package com.example.blog.interaction.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class PostInteractionState {
+
+    private final Long postId;
+    private final boolean liked;
+    private final boolean favorited;
+}
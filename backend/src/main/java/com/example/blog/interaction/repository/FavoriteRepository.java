@@ -1,8 +1,14 @@
 package com.example.blog.interaction.repository;
 
 import com.example.blog.interaction.entity.Favorite;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
 
@@ -13,4 +19,20 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
     long countByUserId(Long userId);
 
     long countByPostId(Long postId);
+
+    @Query("SELECT f.post.id FROM Favorite f WHERE f.user.id = :userId AND f.post.id IN :postIds")
+    List<Long> findFavoritedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    @Query("SELECT f.id AS id, f.post.id AS postId, f.createdAt AS createdAt FROM Favorite f " +
+            "WHERE f.user.id = :userId ORDER BY f.createdAt DESC, f.id DESC")
+    List<InteractionEntry> findLatestEntries(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT f.id AS id, f.post.id AS postId, f.createdAt AS createdAt FROM Favorite f " +
+            "WHERE f.user.id = :userId " +
+            "AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id)) " +
+            "ORDER BY f.createdAt DESC, f.id DESC")
+    List<InteractionEntry> findEntriesBefore(@Param("userId") Long userId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
 }
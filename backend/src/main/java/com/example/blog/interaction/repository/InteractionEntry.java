@@ -0,0 +1,15 @@
+package com.example.blog.interaction.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 点赞/收藏记录的骨架，用于游标分页，正文在分页之后再批量加载。
+ */
+public interface InteractionEntry {
+
+    Long getId();
+
+    Long getPostId();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,75 @@
+package com.example.blog.interaction.repository;
+
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 点赞异步落库使用的批量 SQL。
+ * <p>
+ * 依赖 JDBC 批处理返回的逐行影响行数来计算计数增量，因此数据源不能开启
+ * {@code rewriteBatchedStatements}（开启后驱动只返回 {@code SUCCESS_NO_INFO}）。
+ */
+@Repository
+@RequiredArgsConstructor
+public class LikeBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return 每行实际插入的行数（已存在的点赞返回 0）
+     */
+    public int[] insertIgnore(List<long[]> userPostPairs) {
+        return jdbcTemplate.batchUpdate(
+                "INSERT IGNORE INTO likes (user_id, post_id, created_at) VALUES (?, ?, NOW())",
+                userPostPairs, userPostPairs.size(), (ps, pair) -> {
+                    ps.setLong(1, pair[0]);
+                    ps.setLong(2, pair[1]);
+                })[0];
+    }
+
+    /**
+     * @return 每行实际删除的行数
+     */
+    public int[] delete(List<long[]> userPostPairs) {
+        return jdbcTemplate.batchUpdate(
+                "DELETE FROM likes WHERE user_id = ? AND post_id = ?",
+                userPostPairs, userPostPairs.size(), (ps, pair) -> {
+                    ps.setLong(1, pair[0]);
+                    ps.setLong(2, pair[1]);
+                })[0];
+    }
+
+    public void applyLikeCountDeltas(Map<Long, Integer> deltas) {
+        List<Object[]> args = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .toList();
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE posts SET like_count = GREATEST(CAST(like_count AS SIGNED) + ?, 0) WHERE id = ?", args);
+        }
+    }
+
+    /**
+     * 以 likes 表为准修正一段 ID 区间内文章的 like_count，只改写存在偏差的行。
+     *
+     * @return 被修正的文章数
+     */
+    public int reconcileLikeCounts(long fromId, long toId) {
+        return jdbcTemplate.update("""
+                UPDATE posts p
+                LEFT JOIN (SELECT post_id, COUNT(*) AS total FROM likes
+                           WHERE post_id BETWEEN ? AND ? GROUP BY post_id) l ON l.post_id = p.id
+                SET p.like_count = COALESCE(l.total, 0)
+                WHERE p.id BETWEEN ? AND ? AND p.like_count <> COALESCE(l.total, 0)
+                """, fromId, toId, fromId, toId);
+    }
+
+    public long maxPostId() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM posts", Long.class);
+        return max != null ? max : 0L;
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.blog.interaction.repository;
 
 import com.example.blog.interaction.entity.LikeRecord;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface LikeRepository extends JpaRepository<LikeRecord, Long> {
 
@@ -11,4 +17,23 @@ public interface LikeRepository extends JpaRepository<LikeRecord, Long> {
     boolean existsByUserIdAndPostId(Long userId, Long postId);
 
     long countByPostId(Long postId);
+
+    @Query("SELECT l.user.id FROM LikeRecord l WHERE l.post.id = :postId")
+    List<Long> findUserIdsByPostId(@Param("postId") Long postId);
+
+    @Query("SELECT l.post.id FROM LikeRecord l WHERE l.user.id = :userId AND l.post.id IN :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    @Query("SELECT l.id AS id, l.post.id AS postId, l.createdAt AS createdAt FROM LikeRecord l " +
+            "WHERE l.user.id = :userId ORDER BY l.createdAt DESC, l.id DESC")
+    List<InteractionEntry> findLatestEntries(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT l.id AS id, l.post.id AS postId, l.createdAt AS createdAt FROM LikeRecord l " +
+            "WHERE l.user.id = :userId " +
+            "AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id)) " +
+            "ORDER BY l.createdAt DESC, l.id DESC")
+    List<InteractionEntry> findEntriesBefore(@Param("userId") Long userId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
 }
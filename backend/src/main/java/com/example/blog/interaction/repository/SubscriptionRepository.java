@@ -3,7 +3,10 @@ package com.example.blog.interaction.repository;
 import com.example.blog.interaction.entity.Subscription;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
 
@@ -12,4 +15,23 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
     long countByUserId(Long userId);
 
     List<Subscription> findByUserId(Long userId);
+
+    long countByTagId(Long tagId);
+
+    @Query("SELECT s.tag.id FROM Subscription s WHERE s.user.id = :userId")
+    List<Long> findTagIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * 按订阅 ID 递增分段遍历某标签的订阅者，走 idx_sub_tag(tag_id, id)。
+     */
+    @Query("SELECT s.id AS id, s.user.id AS userId FROM Subscription s " +
+            "WHERE s.tag.id = :tagId AND s.id > :afterId ORDER BY s.id")
+    List<SubscriberRef> findSubscribers(@Param("tagId") Long tagId, @Param("afterId") Long afterId, Pageable pageable);
+
+    interface SubscriberRef {
+
+        Long getId();
+
+        Long getUserId();
+    }
 }
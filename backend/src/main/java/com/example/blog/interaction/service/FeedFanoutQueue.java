@@ -0,0 +1,42 @@
+package com.example.blog.interaction.service;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 待推送到订阅时间线的文章队列。发布文章时在事务提交后入队，由后台任务消费。
+ */
+@Component
+@RequiredArgsConstructor
+public class FeedFanoutQueue {
+
+    private static final String KEY_QUEUE = "queue:feed-fanout";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public void enqueueAfterCommit(Long postId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            redisTemplate.opsForList().rightPush(KEY_QUEUE, postId.toString());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                redisTemplate.opsForList().rightPush(KEY_QUEUE, postId.toString());
+            }
+        });
+    }
+
+    public List<String> peek(int limit) {
+        List<String> postIds = redisTemplate.opsForList().range(KEY_QUEUE, 0, limit - 1L);
+        return postIds != null ? postIds : List.of();
+    }
+
+    public void ack(int count) {
+        redisTemplate.opsForList().trim(KEY_QUEUE, count, -1);
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.blog.interaction.service;
+
+import com.example.blog.auth.util.SecurityUtils;
+import com.example.blog.common.api.CursorResponse;
+import com.example.blog.common.enums.ErrorCode;
+import com.example.blog.common.exception.BusinessException;
+import com.example.blog.content.dto.PostSummaryResponse;
+import com.example.blog.content.entity.Post;
+import com.example.blog.content.repository.PostRepository;
+import com.example.blog.content.repository.PostRepository.TimelineEntry;
+import com.example.blog.content.service.PostService;
+import com.example.blog.interaction.repository.SubscriptionRepository;
+import com.example.blog.interaction.repository.SubscriptionRepository.SubscriberRef;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * 标签订阅时间线（“我订阅的标签下的新文章”）。
+ * <p>
+ * 写扩散：文章发布后由后台任务把文章 ID 推入每个订阅者的 Sorted Set（分数为发布时间），
+ * 每条时间线保留最新 {@link #TIMELINE_CAP} 篇。订阅者超过 {@link #LARGE_TAG_THRESHOLD} 的大标签不再逐个推送，
+ * 只写入标签自己的时间线，读取时与用户时间线合并（读扩散）。
+ * <p>
+ * 时间线含一个分数为 +inf 的哨兵成员：存在即表示已完整构建，推送只追加到已存在的时间线；
+ * 不存在（新用户、过期、订阅变化后被删除）时在读取时从数据库重建。
+ */
+@Service
+@RequiredArgsConstructor
+public class FeedService {
+
+    private static final String KEY_USER_FEED = "feed:user:";
+    private static final String KEY_TAG_POSTS = "feed:tag:";
+    private static final String KEY_LARGE_TAGS = "feed:large-tags";
+    private static final String SENTINEL = "0";
+    private static final int TIMELINE_CAP = 500;
+    private static final Duration TIMELINE_TTL = Duration.ofDays(7);
+    private static final long LARGE_TAG_THRESHOLD = 5000L;
+    private static final int FANOUT_CHUNK = 500;
+    private static final int MAX_PAGE_SIZE = 50;
+
+    /** 哨兵分数最高，裁剪时保留排名最高的 cap + 1 个成员 */
+    private static final RedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>("""
+            local appended = 0
+            for _, key in ipairs(KEYS) do
+                if redis.call('EXISTS', key) == 1 then
+                    redis.call('ZADD', key, ARGV[2], ARGV[1])
+                    redis.call('ZREMRANGEBYRANK', key, 0, -(tonumber(ARGV[3]) + 2))
+                    appended = appended + 1
+                end
+            end
+            return appended
+            """, Long.class);
+
+    private static final RedisScript<Long> PUBLISH_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                redis.call('DEL', KEYS[2])
+                return 0
+            end
+            redis.call('RENAME', KEYS[2], KEYS[1])
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final PostRepository postRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final PostService postService;
+    private final TagSubscriptionCache tagSubscriptionCache;
+
+    public CursorResponse<PostSummaryResponse> listFeed(String cursor, int size) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new BusinessException(ErrorCode.UNAUTHORIZED, "请先登录");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Set<Long> tagIds = tagSubscriptionCache.subscribedTagIds(userId);
+        if (tagIds.isEmpty()) {
+            return CursorResponse.<PostSummaryResponse>builder().records(List.of()).hasMore(false).build();
+        }
+        double maxScore = Double.MAX_VALUE;
+        long beforePostId = Long.MAX_VALUE;
+        if (StringUtils.hasText(cursor)) {
+            long[] position = parseCursor(cursor);
+            maxScore = position[0];
+            beforePostId = position[1];
+        }
+
+        List<String> sources = new ArrayList<>();
+        String feedKey = KEY_USER_FEED + userId;
+        ensureTimeline(feedKey, tagIds);
+        sources.add(feedKey);
+        Set<String> largeTags = redisTemplate.opsForSet().members(KEY_LARGE_TAGS);
+        if (largeTags != null && !largeTags.isEmpty()) {
+            for (Long tagId : tagIds) {
+                if (largeTags.contains(tagId.toString())) {
+                    String tagKey = KEY_TAG_POSTS + tagId;
+                    ensureTimeline(tagKey, List.of(tagId));
+                    sources.add(tagKey);
+                }
+            }
+        }
+
+        // 各来源各取 pageSize + 1 条后按 (发布时间, ID) 倒序合并去重
+        Map<Long, Long> scores = new HashMap<>();
+        for (String source : sources) {
+            Set<TypedTuple<String>> tuples = redisTemplate.opsForZSet()
+                    .reverseRangeByScoreWithScores(source, 0, maxScore, 0, pageSize + 1L);
+            if (tuples == null) {
+                continue;
+            }
+            for (TypedTuple<String> tuple : tuples) {
+                if (SENTINEL.equals(tuple.getValue()) || tuple.getScore() == null) {
+                    continue;
+                }
+                long postId = Long.parseLong(tuple.getValue());
+                long score = tuple.getScore().longValue();
+                if (score < maxScore || postId < beforePostId) {
+                    scores.merge(postId, score, Math::max);
+                }
+            }
+        }
+        List<long[]> merged = scores.entrySet().stream()
+                .map(entry -> new long[]{entry.getValue(), entry.getKey()})
+                .sorted(Comparator.<long[]>comparingLong(row -> row[0]).thenComparingLong(row -> row[1]).reversed())
+                .limit(pageSize + 1L)
+                .toList();
+        boolean hasMore = merged.size() > pageSize;
+        List<long[]> current = hasMore ? merged.subList(0, pageSize) : merged;
+
+        Map<Long, PostSummaryResponse> summaries = postService.loadPublishedSummaries(
+                current.stream().map(row -> row[1]).toList());
+        List<PostSummaryResponse> records = current.stream()
+                .map(row -> summaries.get(row[1]))
+                .filter(Objects::nonNull)
+                .toList();
+        String nextCursor = null;
+        if (hasMore) {
+            long[] last = current.get(current.size() - 1);
+            nextCursor = last[0] + "_" + last[1];
+        }
+        return CursorResponse.<PostSummaryResponse>builder()
+                .records(records)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * 把一篇已发布的文章推送到其标签的时间线及小标签订阅者的时间线。重复推送无副作用。
+     */
+    public void fanOut(Long postId) {
+        Post post = postRepository.findById(postId).orElse(null);
+        if (post == null || !post.isPublished() || post.getDeletedAt() != null || post.getPublishedAt() == null) {
+            return;
+        }
+        String member = postId.toString();
+        String score = String.valueOf(score(post.getPublishedAt()));
+        for (Long tagId : postRepository.findTagIds(postId)) {
+            append(List.of(KEY_TAG_POSTS + tagId), member, score);
+            if (subscriptionRepository.countByTagId(tagId) > LARGE_TAG_THRESHOLD) {
+                redisTemplate.opsForSet().add(KEY_LARGE_TAGS, tagId.toString());
+                continue;
+            }
+            redisTemplate.opsForSet().remove(KEY_LARGE_TAGS, tagId.toString());
+            long afterId = 0L;
+            List<SubscriberRef> subscribers;
+            do {
+                subscribers = subscriptionRepository.findSubscribers(tagId, afterId, PageRequest.of(0, FANOUT_CHUNK));
+                if (!subscribers.isEmpty()) {
+                    append(subscribers.stream().map(ref -> KEY_USER_FEED + ref.getUserId()).toList(), member, score);
+                    afterId = subscribers.get(subscribers.size() - 1).getId();
+                }
+            } while (subscribers.size() == FANOUT_CHUNK);
+        }
+    }
+
+    /**
+     * 订阅变化后丢弃用户时间线，下次读取时按新的订阅重建。
+     */
+    public void evict(Long userId) {
+        redisTemplate.delete(KEY_USER_FEED + userId);
+    }
+
+    private void append(List<String> keys, String member, String score) {
+        redisTemplate.execute(APPEND_SCRIPT, keys, member, score, String.valueOf(TIMELINE_CAP));
+    }
+
+    /**
+     * 时间线不存在时从数据库取最新的文章写入临时 Key，再原子改名发布；
+     * 其他请求已抢先重建时丢弃本次结果。
+     */
+    private void ensureTimeline(String key, Collection<Long> tagIds) {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+            return;
+        }
+        List<TimelineEntry> entries = postRepository.findTimelineByTagIds(tagIds, PageRequest.of(0, TIMELINE_CAP));
+        Set<TypedTuple<String>> tuples = new HashSet<>();
+        tuples.add(new DefaultTypedTuple<>(SENTINEL, Double.POSITIVE_INFINITY));
+        for (TimelineEntry entry : entries) {
+            if (entry.getPublishedAt() != null) {
+                tuples.add(new DefaultTypedTuple<>(entry.getId().toString(), (double) score(entry.getPublishedAt())));
+            }
+        }
+        String buildingKey = key + ":building:" + UUID.randomUUID();
+        redisTemplate.opsForZSet().add(buildingKey, tuples);
+        redisTemplate.execute(PUBLISH_SCRIPT, List.of(key, buildingKey), String.valueOf(TIMELINE_TTL.toSeconds()));
+    }
+
+    private long score(LocalDateTime publishedAt) {
+        return publishedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private long[] parseCursor(String cursor) {
+        int separator = cursor.indexOf('_');
+        try {
+            if (separator > 0) {
+                return new long[]{Long.parseLong(cursor.substring(0, separator)),
+                        Long.parseLong(cursor.substring(separator + 1))};
+            }
+        } catch (NumberFormatException ignored) {
+            // 统一按游标无效处理
+        }
+        throw new BusinessException(ErrorCode.BAD_REQUEST, "游标无效");
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.blog.interaction.service;
+
+import com.example.blog.auth.util.SecurityUtils;
+import com.example.blog.common.api.CursorResponse;
+import com.example.blog.common.enums.ErrorCode;
+import com.example.blog.common.exception.BusinessException;
+import com.example.blog.content.dto.PostSummaryResponse;
+import com.example.blog.content.service.PostService;
+import com.example.blog.interaction.repository.FavoriteRepository;
+import com.example.blog.interaction.repository.InteractionEntry;
+import com.example.blog.interaction.repository.LikeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * “我的收藏 / 我的点赞”列表。
+ * <p>
+ * 按 {@code (created_at, id)} 倒序游标分页，先只查记录骨架，再批量加载文章摘要。
+ * 每个用户的第一页骨架缓存在 Redis Hash 中（字段为页大小），在记录变化的事务提交后整体删除：
+ * 收藏在收藏事务提交后，点赞异步落库，在落库事务提交后，避免并发读取把提交前的旧数据重新缓存。
+ */
+@Service
+@RequiredArgsConstructor
+public class InteractionHistoryService {
+
+    private static final String KEY_FAVORITES = "me:favorites:";
+    private static final String KEY_LIKES = "me:likes:";
+    private static final Duration FIRST_PAGE_TTL = Duration.ofMinutes(10);
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final FavoriteRepository favoriteRepository;
+    private final LikeRepository likeRepository;
+    private final PostService postService;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public CursorResponse<PostSummaryResponse> listFavorites(String cursor, int size) {
+        Long userId = requireUserId();
+        return list(KEY_FAVORITES + userId, cursor, size, new EntrySource() {
+            @Override
+            public List<InteractionEntry> latest(PageRequest page) {
+                return favoriteRepository.findLatestEntries(userId, page);
+            }
+
+            @Override
+            public List<InteractionEntry> before(LocalDateTime createdAt, Long id, PageRequest page) {
+                return favoriteRepository.findEntriesBefore(userId, createdAt, id, page);
+            }
+        });
+    }
+
+    public CursorResponse<PostSummaryResponse> listLikes(String cursor, int size) {
+        Long userId = requireUserId();
+        return list(KEY_LIKES + userId, cursor, size, new EntrySource() {
+            @Override
+            public List<InteractionEntry> latest(PageRequest page) {
+                return likeRepository.findLatestEntries(userId, page);
+            }
+
+            @Override
+            public List<InteractionEntry> before(LocalDateTime createdAt, Long id, PageRequest page) {
+                return likeRepository.findEntriesBefore(userId, createdAt, id, page);
+            }
+        });
+    }
+
+    public void evictFavorites(Long userId) {
+        redisTemplate.delete(KEY_FAVORITES + userId);
+    }
+
+    public void evictLikes(Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            redisTemplate.delete(userIds.stream().map(id -> KEY_LIKES + id).toList());
+        }
+    }
+
+    private CursorResponse<PostSummaryResponse> list(String cacheKey, String cursor, int size, EntrySource source) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // 多取一条用来判断是否还有下一页
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<long[]> entries;
+        if (StringUtils.hasText(cursor)) {
+            long[] position = parseCursor(cursor);
+            entries = toRows(source.before(toDateTime(position[0]), position[1], page));
+        } else {
+            entries = loadFirstPage(cacheKey, pageSize, () -> toRows(source.latest(page)));
+        }
+        boolean hasMore = entries.size() > pageSize;
+        List<long[]> current = hasMore ? entries.subList(0, pageSize) : entries;
+
+        Map<Long, PostSummaryResponse> summaries = postService.loadPublishedSummaries(
+                current.stream().map(row -> row[1]).toList());
+        List<PostSummaryResponse> records = current.stream()
+                .map(row -> summaries.get(row[1]))
+                .filter(Objects::nonNull)
+                .toList();
+        String nextCursor = null;
+        if (hasMore) {
+            long[] last = current.get(current.size() - 1);
+            nextCursor = last[2] + "_" + last[0];
+        }
+        return CursorResponse.<PostSummaryResponse>builder()
+                .records(records)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private List<long[]> loadFirstPage(String cacheKey, int pageSize, Supplier<List<long[]>> loader) {
+        String field = String.valueOf(pageSize);
+        Object cached = redisTemplate.opsForHash().get(cacheKey, field);
+        if (cached != null) {
+            try {
+                return List.of(objectMapper.readValue(cached.toString(), long[][].class));
+            } catch (JsonProcessingException ex) {
+                redisTemplate.delete(cacheKey);
+            }
+        }
+        List<long[]> rows = loader.get();
+        try {
+            redisTemplate.opsForHash().put(cacheKey, field, objectMapper.writeValueAsString(rows));
+            redisTemplate.expire(cacheKey, FIRST_PAGE_TTL);
+        } catch (JsonProcessingException ignored) {
+            // 缓存写入失败不影响本次结果
+        }
+        return rows;
+    }
+
+    /**
+     * @return 每行依次为记录 ID、文章 ID、创建时间（毫秒）
+     */
+    private List<long[]> toRows(List<InteractionEntry> entries) {
+        List<long[]> rows = new ArrayList<>(entries.size());
+        for (InteractionEntry entry : entries) {
+            long createdAt = entry.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+            rows.add(new long[]{entry.getId(), entry.getPostId(), createdAt});
+        }
+        return rows;
+    }
+
+    private long[] parseCursor(String cursor) {
+        int separator = cursor.indexOf('_');
+        try {
+            if (separator > 0) {
+                return new long[]{Long.parseLong(cursor.substring(0, separator)),
+                        Long.parseLong(cursor.substring(separator + 1))};
+            }
+        } catch (NumberFormatException ignored) {
+            // 统一按游标无效处理
+        }
+        throw new BusinessException(ErrorCode.BAD_REQUEST, "游标无效");
+    }
+
+    private LocalDateTime toDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneOffset.UTC);
+    }
+
+    private Long requireUserId() {
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new BusinessException(ErrorCode.UNAUTHORIZED, "请先登录");
+        }
+        return userId;
+    }
+
+    private interface EntrySource {
+
+        List<InteractionEntry> latest(PageRequest page);
+
+        List<InteractionEntry> before(LocalDateTime createdAt, Long id, PageRequest page);
+    }
+}
@@ -8,77 +8,142 @@ import com.example.blog.common.exception.BusinessException;
 import com.example.blog.common.exception.ResourceNotFoundException;
 import com.example.blog.common.service.AuditLogService;
 import com.example.blog.interaction.dto.InteractionResponse;
+import com.example.blog.interaction.dto.PostInteractionState;
 import com.example.blog.interaction.entity.Favorite;
-import com.example.blog.interaction.entity.LikeRecord;
 import com.example.blog.interaction.repository.FavoriteRepository;
-import com.example.blog.interaction.repository.LikeRepository;
 import com.example.blog.content.entity.Post;
 import com.example.blog.content.repository.PostRepository;
+import com.example.blog.interaction.service.LikeCacheService.LikeState;
 import jakarta.transaction.Transactional;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @RequiredArgsConstructor
 public class InteractionService {
 
-    private final LikeRepository likeRepository;
+    private static final int MAX_STATE_BATCH = 100;
+
+    private final LikeCacheService likeCacheService;
+    private final InteractionHistoryService interactionHistoryService;
     private final FavoriteRepository favoriteRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final AuditLogService auditLogService;
 
-    @Transactional
     public InteractionResponse toggleLike(Long postId) {
-        User user = requireCurrentUser();
-        Post post = requirePost(postId);
-        LikeRecord record = likeRepository.findByUserIdAndPostId(user.getId(), postId).orElse(null);
-        boolean active;
-        if (record != null) {
-            likeRepository.delete(record);
-            post.setLikeCount(Math.max(0, safeInt(post.getLikeCount()) - 1));
-            active = false;
-        } else {
-            likeRepository.save(LikeRecord.builder().user(user).post(post).build());
-            post.setLikeCount(safeInt(post.getLikeCount()) + 1);
-            active = true;
+        Long userId = requireCurrentUserId();
+        return toLikeResponse(postId, likeCacheService.toggle(postId, userId));
+    }
+
+    public InteractionResponse setLike(Long postId, boolean liked) {
+        Long userId = requireCurrentUserId();
+        return toLikeResponse(postId, likeCacheService.set(postId, userId, liked));
+    }
+
+    @Transactional
+    public InteractionResponse toggleFavorite(Long postId) {
+        return applyFavorite(postId, null);
+    }
+
+    @Transactional
+    public InteractionResponse setFavorite(Long postId, boolean favorited) {
+        return applyFavorite(postId, favorited);
+    }
+
+    /**
+     * 列表页批量查询当前用户对多篇文章的点赞/收藏状态；未登录时直接返回全 false，不访问存储。
+     */
+    public List<PostInteractionState> getInteractionStates(List<Long> postIds) {
+        Set<Long> ids = new LinkedHashSet<>(postIds);
+        ids.remove(null);
+        if (ids.size() > MAX_STATE_BATCH) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "单次最多查询 " + MAX_STATE_BATCH + " 篇文章");
+        }
+        Long userId = SecurityUtils.getCurrentUserId();
+        Set<Long> liked = Set.of();
+        Set<Long> favorited = Set.of();
+        if (userId != null && !ids.isEmpty()) {
+            liked = likeCacheService.likedPostIds(userId, ids);
+            favorited = new HashSet<>(favoriteRepository.findFavoritedPostIds(userId, ids));
+        }
+        Set<Long> likedIds = liked;
+        Set<Long> favoritedIds = favorited;
+        return ids.stream()
+                .map(id -> PostInteractionState.builder()
+                        .postId(id)
+                        .liked(likedIds.contains(id))
+                        .favorited(favoritedIds.contains(id))
+                        .build())
+                .toList();
+    }
+
+    private InteractionResponse toLikeResponse(Long postId, LikeState state) {
+        if (state.isChanged()) {
+            // likes 表此时尚未变化，“我的点赞”缓存由落库事务提交后失效
+            auditLogService.record(state.isActive() ? "LIKE" : "UNLIKE", "Post", postId, null);
         }
-        postRepository.save(post);
-        long total = likeRepository.countByPostId(postId);
-        auditLogService.record(active ? "LIKE" : "UNLIKE", "Post", postId, null);
         return InteractionResponse.builder()
-                .active(active)
-                .total(total)
+                .active(state.isActive())
+                .total(state.getTotal())
                 .build();
     }
 
-    @Transactional
-    public InteractionResponse toggleFavorite(Long postId) {
+    /**
+     * @param target 目标状态，为 null 时切换当前状态
+     */
+    private InteractionResponse applyFavorite(Long postId, Boolean target) {
         User user = requireCurrentUser();
         Post post = requirePost(postId);
         Favorite record = favoriteRepository.findByUserIdAndPostId(user.getId(), postId).orElse(null);
-        boolean active;
-        if (record != null) {
-            favoriteRepository.delete(record);
-            active = false;
-        } else {
-            favoriteRepository.save(Favorite.builder().user(user).post(post).build());
-            active = true;
+        boolean active = target != null ? target : record == null;
+        boolean changed = active != (record != null);
+        if (changed) {
+            if (active) {
+                favoriteRepository.save(Favorite.builder().user(user).post(post).build());
+            } else {
+                favoriteRepository.delete(record);
+            }
         }
         long total = favoriteRepository.countByPostId(postId);
-        auditLogService.record(active ? "FAVORITE" : "UNFAVORITE", "Post", postId, null);
+        if (changed) {
+            evictFavoritesAfterCommit(user.getId());
+            auditLogService.record(active ? "FAVORITE" : "UNFAVORITE", "Post", postId, null);
+        }
         return InteractionResponse.builder()
                 .active(active)
                 .total(total)
                 .build();
     }
 
-    private User requireCurrentUser() {
+    /**
+     * 提交后再失效，避免并发读取在提交前把旧的收藏列表重新加载进缓存。
+     */
+    private void evictFavoritesAfterCommit(Long userId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                interactionHistoryService.evictFavorites(userId);
+            }
+        });
+    }
+
+    private Long requireCurrentUserId() {
         Long userId = SecurityUtils.getCurrentUserId();
         if (userId == null) {
             throw new BusinessException(ErrorCode.UNAUTHORIZED, "请先登录");
         }
-        return userRepository.findById(userId)
+        return userId;
+    }
+
+    private User requireCurrentUser() {
+        return userRepository.findById(requireCurrentUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("用户不存在"));
     }
 
@@ -86,8 +151,4 @@ public class InteractionService {
         return postRepository.findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("文章不存在"));
     }
-
-    private int safeInt(Integer value) {
-        return value == null ? 0 : value;
-    }
 }
@@ -0,0 +1,233 @@
+package com.example.blog.interaction.service;
+
+import com.example.blog.common.enums.ErrorCode;
+import com.example.blog.common.exception.BusinessException;
+import com.example.blog.common.exception.ResourceNotFoundException;
+import com.example.blog.content.repository.PostRepository;
+import com.example.blog.interaction.repository.LikeRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * 点赞关系以 Redis Set 为准，写入由后台任务异步落库。
+ * <p>
+ * 每篇文章一个 Set，除用户 ID 外还包含哨兵成员 {@code 0}：Set 存在即表示已从数据库完整加载，
+ * 被淘汰时哨兵随之消失，下次访问会重新加载，不会出现“半个集合”。
+ * 点赞/取消在一次脚本调用中完成切换（或设为指定状态），状态变化时把最终状态追加到待落库队列。
+ * 队列中尚未落库的事件在重新加载时叠加到数据库的结果上，集合被淘汰后这些点赞不会丢失。
+ */
+@Service
+@RequiredArgsConstructor
+public class LikeCacheService {
+
+    private static final String KEY_EVENT_QUEUE = "queue:like-events";
+    /** 累计已确认（移出队列）的事件数，加载期间有事件被确认时放弃本次加载 */
+    private static final String KEY_ACKED_EVENTS = "queue:like-events:acked";
+    private static final String KEY_POST_LIKES = "post:likes:";
+    private static final String SENTINEL = "0";
+    private static final int WARM_UP_CHUNK = 5000;
+    private static final int WARM_UP_ATTEMPTS = 3;
+
+    /** ARGV[3]：toggle 切换，1 设为已赞，0 设为未赞；返回 {是否已赞, 总数, 是否发生变化} */
+    private static final RedisScript<List> LIKE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return {-1, 0, 0}
+            end
+            local liked = redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1
+            local target = not liked
+            if ARGV[3] ~= 'toggle' then
+                target = ARGV[3] == '1'
+            end
+            local changed = 0
+            if target ~= liked then
+                if target then
+                    redis.call('SADD', KEYS[1], ARGV[1])
+                else
+                    redis.call('SREM', KEYS[1], ARGV[1])
+                end
+                redis.call('RPUSH', KEYS[2], ARGV[2] .. ':' .. ARGV[1] .. ':' .. (target and 1 or 0))
+                changed = 1
+            end
+            return {target and 1 or 0, redis.call('SCARD', KEYS[1]) - 1, changed}
+            """, List.class);
+
+    private static final RedisScript<Long> MEMBER_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return -1
+            end
+            return redis.call('SISMEMBER', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    private static final RedisScript<List> MEMBERS_SCRIPT = new DefaultRedisScript<>("""
+            local result = {}
+            for i, key in ipairs(KEYS) do
+                if redis.call('EXISTS', key) == 0 then
+                    result[i] = -1
+                else
+                    result[i] = redis.call('SISMEMBER', key, ARGV[1])
+                end
+            end
+            return result
+            """, List.class);
+
+    /**
+     * KEYS：目标 Key、临时 Key、事件队列、已确认计数；ARGV：加载前读到的已确认计数、文章 ID。
+     * 返回 1 发布成功，0 已被其他节点加载，-1 加载期间有事件落库，数据库快照与队列可能对不上。
+     */
+    private static final RedisScript<Long> PUBLISH_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                redis.call('DEL', KEYS[2])
+                return 0
+            end
+            if (redis.call('GET', KEYS[4]) or '0') ~= ARGV[1] then
+                redis.call('DEL', KEYS[2])
+                return -1
+            end
+            local prefix = ARGV[2] .. ':'
+            for _, event in ipairs(redis.call('LRANGE', KEYS[3], 0, -1)) do
+                if string.sub(event, 1, #prefix) == prefix then
+                    local userId, state = string.match(event, '^%d+:(%d+):(%d)$')
+                    if state == '1' then
+                        redis.call('SADD', KEYS[2], userId)
+                    elseif state == '0' then
+                        redis.call('SREM', KEYS[2], userId)
+                    end
+                end
+            end
+            redis.call('RENAME', KEYS[2], KEYS[1])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> ACK_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('LTRIM', KEYS[1], ARGV[1], -1)
+            return redis.call('INCRBY', KEYS[2], ARGV[1])
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final LikeRepository likeRepository;
+    private final PostRepository postRepository;
+
+    public LikeState toggle(Long postId, Long userId) {
+        return apply(postId, userId, "toggle");
+    }
+
+    public LikeState set(Long postId, Long userId, boolean liked) {
+        return apply(postId, userId, liked ? "1" : "0");
+    }
+
+    private LikeState apply(Long postId, Long userId, String mode) {
+        List<String> keys = List.of(KEY_POST_LIKES + postId, KEY_EVENT_QUEUE);
+        List<?> result = redisTemplate.execute(LIKE_SCRIPT, keys, userId.toString(), postId.toString(), mode);
+        if (result == null || toLong(result.get(0)) < 0) {
+            warmUp(postId);
+            result = redisTemplate.execute(LIKE_SCRIPT, keys, userId.toString(), postId.toString(), mode);
+        }
+        return new LikeState(toLong(result.get(0)) == 1L, toLong(result.get(1)), toLong(result.get(2)) == 1L);
+    }
+
+    public boolean isLiked(Long postId, Long userId) {
+        Long member = redisTemplate.execute(MEMBER_SCRIPT, List.of(KEY_POST_LIKES + postId), userId.toString());
+        if (member == null || member < 0) {
+            return likeRepository.existsByUserIdAndPostId(userId, postId);
+        }
+        return member == 1L;
+    }
+
+    /**
+     * 批量判断用户点赞过哪些文章：一次脚本调用查完所有已缓存的文章，
+     * 未缓存的文章合并成一条 IN 查询回源数据库（不触发预热，列表页不应为每篇文章加载点赞集合）。
+     */
+    public Set<Long> likedPostIds(Long userId, Collection<Long> postIds) {
+        List<Long> ids = new ArrayList<>(postIds);
+        List<String> keys = ids.stream().map(id -> KEY_POST_LIKES + id).toList();
+        List<?> members = redisTemplate.execute(MEMBERS_SCRIPT, keys, userId.toString());
+        Set<Long> liked = new HashSet<>();
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            long member = members != null ? toLong(members.get(i)) : -1L;
+            if (member == 1L) {
+                liked.add(ids.get(i));
+            } else if (member < 0) {
+                missing.add(ids.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            liked.addAll(likeRepository.findLikedPostIds(userId, missing));
+        }
+        return liked;
+    }
+
+    public List<String> peekEvents(int limit) {
+        List<String> events = redisTemplate.opsForList().range(KEY_EVENT_QUEUE, 0, limit - 1L);
+        return events != null ? events : List.of();
+    }
+
+    public void ackEvents(int count) {
+        redisTemplate.execute(ACK_SCRIPT, List.of(KEY_EVENT_QUEUE, KEY_ACKED_EVENTS), String.valueOf(count));
+    }
+
+    public long pendingEvents() {
+        Long size = redisTemplate.opsForList().size(KEY_EVENT_QUEUE);
+        return size != null ? size : 0L;
+    }
+
+    /**
+     * 从数据库加载整篇文章的点赞用户：先分批写入临时 Key，再在脚本中叠加队列里这篇文章的待落库事件、
+     * 原子地改名发布。若其他节点已抢先加载则丢弃本次结果，保证切换脚本永远看不到加载了一半的集合。
+     * <p>
+     * 读取数据库到发布之间若有事件落库并移出队列，这些事件既可能不在快照中也不在队列中，此时重新加载。
+     */
+    private void warmUp(Long postId) {
+        if (!postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("文章不存在");
+        }
+        for (int attempt = 0; attempt < WARM_UP_ATTEMPTS; attempt++) {
+            if (tryWarmUp(postId)) {
+                return;
+            }
+        }
+        throw new BusinessException(ErrorCode.SERVER_ERROR, "点赞数据加载失败，请稍后再试");
+    }
+
+    private boolean tryWarmUp(Long postId) {
+        String key = KEY_POST_LIKES + postId;
+        String loadingKey = key + ":loading:" + UUID.randomUUID();
+        String acked = Objects.requireNonNullElse(redisTemplate.opsForValue().get(KEY_ACKED_EVENTS), "0");
+        List<Long> userIds = likeRepository.findUserIdsByPostId(postId);
+        List<String> members = new ArrayList<>(userIds.size() + 1);
+        members.add(SENTINEL);
+        userIds.forEach(id -> members.add(id.toString()));
+        for (int start = 0; start < members.size(); start += WARM_UP_CHUNK) {
+            List<String> chunk = members.subList(start, Math.min(start + WARM_UP_CHUNK, members.size()));
+            redisTemplate.opsForSet().add(loadingKey, chunk.toArray(new String[0]));
+        }
+        Long published = redisTemplate.execute(PUBLISH_SCRIPT,
+                List.of(key, loadingKey, KEY_EVENT_QUEUE, KEY_ACKED_EVENTS), acked, postId.toString());
+        return published != null && published >= 0;
+    }
+
+    private long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : Long.parseLong(String.valueOf(value));
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class LikeState {
+
+        private final boolean active;
+        private final long total;
+        private final boolean changed;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.blog.interaction.service;
+
+import com.example.blog.content.service.PostCounterService.CounterDelta;
+import com.example.blog.interaction.repository.LikeBatchRepository;
+import com.example.blog.realtime.service.LiveEventPublisher;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 把 Redis 队列中的点赞最终状态批量写入 likes 表，并按实际变化的行数调整 like_count。
+ * <p>
+ * 事件记录的是“某用户对某文章的最终状态”而不是增量，重复处理同一批事件是幂等的，
+ * 因此队列可以在提交之后再确认。like_count 在同一事务内按增量调整，提交后才发布到实时频道；
+ * 不放进各节点的内存缓冲，夜间对账时数据库中就不存在尚未写出的点赞增量。
+ */
+@Service
+@RequiredArgsConstructor
+public class LikeSyncService {
+
+    private static final long RECONCILE_CHUNK = 1000L;
+
+    private final LikeBatchRepository likeBatchRepository;
+    private final LiveEventPublisher liveEventPublisher;
+    private final InteractionHistoryService interactionHistoryService;
+
+    @Transactional
+    public void apply(List<String> events) {
+        // 同一批次内同一用户对同一文章只保留最后一次状态
+        Map<String, long[]> latest = new LinkedHashMap<>();
+        for (String event : events) {
+            String[] parts = event.split(":");
+            if (parts.length != 3) {
+                continue;
+            }
+            long postId = Long.parseLong(parts[0]);
+            long userId = Long.parseLong(parts[1]);
+            latest.put(postId + ":" + userId, new long[]{userId, postId, Long.parseLong(parts[2])});
+        }
+        List<long[]> inserts = new ArrayList<>();
+        List<long[]> deletes = new ArrayList<>();
+        for (long[] state : latest.values()) {
+            (state[2] == 1L ? inserts : deletes).add(state);
+        }
+        Map<Long, Integer> deltas = new HashMap<>();
+        if (!inserts.isEmpty()) {
+            collectDeltas(inserts, likeBatchRepository.insertIgnore(inserts), 1, deltas);
+        }
+        if (!deletes.isEmpty()) {
+            collectDeltas(deletes, likeBatchRepository.delete(deletes), -1, deltas);
+        }
+        likeBatchRepository.applyLikeCountDeltas(deltas);
+        List<CounterDelta> changes = new ArrayList<>();
+        deltas.forEach((postId, delta) -> {
+            if (delta != 0) {
+                changes.add(new CounterDelta(postId, 0, delta));
+            }
+        });
+        if (!changes.isEmpty()) {
+            liveEventPublisher.publishAfterCommit(LiveEventPublisher.TYPE_COUNTERS, null, changes);
+        }
+        Set<Long> userIds = new HashSet<>();
+        latest.values().forEach(state -> userIds.add(state[0]));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                interactionHistoryService.evictLikes(userIds);
+            }
+        });
+    }
+
+    /**
+     * 分段修正 like_count，每段一个短事务，避免长时间锁住 posts 表。
+     *
+     * @return 被修正的文章数
+     */
+    public int reconcileLikeCounts() {
+        long maxId = likeBatchRepository.maxPostId();
+        int fixed = 0;
+        for (long from = 1; from <= maxId; from += RECONCILE_CHUNK) {
+            fixed += likeBatchRepository.reconcileLikeCounts(from, from + RECONCILE_CHUNK - 1);
+        }
+        return fixed;
+    }
+
+    private void collectDeltas(List<long[]> rows, int[] affected, int sign, Map<Long, Integer> deltas) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (affected[i] > 0) {
+                deltas.merge(rows.get(i)[1], sign, Integer::sum);
+            }
+        }
+    }
+}
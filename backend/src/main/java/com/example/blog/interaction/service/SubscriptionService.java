@@ -15,6 +15,8 @@ import com.example.blog.interaction.repository.SubscriptionRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @RequiredArgsConstructor
@@ -24,25 +26,53 @@ public class SubscriptionService {
     private final TagRepository tagRepository;
     private final UserRepository userRepository;
     private final AuditLogService auditLogService;
+    private final FeedService feedService;
+    private final TagSubscriptionCache tagSubscriptionCache;
 
     @Transactional
     public SubscriptionResponse toggle(Long tagId) {
+        return apply(tagId, null);
+    }
+
+    @Transactional
+    public SubscriptionResponse set(Long tagId, boolean subscribed) {
+        return apply(tagId, subscribed);
+    }
+
+    /**
+     * @param target 目标状态，为 null 时切换当前状态
+     */
+    private SubscriptionResponse apply(Long tagId, Boolean target) {
         User user = requireCurrentUser();
         Tag tag = tagRepository.findById(tagId)
                 .orElseThrow(() -> new ResourceNotFoundException("标签不存在"));
         Subscription subscription = subscriptionRepository.findByUserIdAndTagId(user.getId(), tagId).orElse(null);
-        boolean subscribed;
-        if (subscription != null) {
-            subscriptionRepository.delete(subscription);
-            subscribed = false;
-        } else {
-            subscriptionRepository.save(Subscription.builder().user(user).tag(tag).build());
-            subscribed = true;
+        boolean subscribed = target != null ? target : subscription == null;
+        if (subscribed != (subscription != null)) {
+            if (subscribed) {
+                subscriptionRepository.save(Subscription.builder().user(user).tag(tag).build());
+            } else {
+                subscriptionRepository.delete(subscription);
+            }
+            evictAfterCommit(user.getId());
+            auditLogService.record(subscribed ? "SUBSCRIBE" : "UNSUBSCRIBE", "Tag", tagId, null);
         }
-        auditLogService.record(subscribed ? "SUBSCRIBE" : "UNSUBSCRIBE", "Tag", tagId, null);
         return SubscriptionResponse.builder().subscribed(subscribed).build();
     }
 
+    /**
+     * 提交后再失效，避免并发读取在提交前把旧的订阅集合重新加载进缓存。
+     */
+    private void evictAfterCommit(Long userId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tagSubscriptionCache.evict(userId);
+                feedService.evict(userId);
+            }
+        });
+    }
+
     private User requireCurrentUser() {
         Long userId = SecurityUtils.getCurrentUserId();
         if (userId == null) {
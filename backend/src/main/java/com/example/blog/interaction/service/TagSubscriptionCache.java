@@ -0,0 +1,51 @@
+package com.example.blog.interaction.service;
+
+import com.example.blog.interaction.repository.SubscriptionRepository;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * 每个用户订阅的标签 ID 集合，缓存为 Redis Set。
+ * <p>
+ * 集合中固定包含哨兵成员 {@code 0}，用来区分“没有订阅”与“尚未加载”；订阅变化时整体删除，下次读取重新加载。
+ */
+@Component
+@RequiredArgsConstructor
+public class TagSubscriptionCache {
+
+    private static final String KEY_PREFIX = "user:tag-subs:";
+    private static final String SENTINEL = "0";
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private final StringRedisTemplate redisTemplate;
+    private final SubscriptionRepository subscriptionRepository;
+
+    public Set<Long> subscribedTagIds(Long userId) {
+        String key = KEY_PREFIX + userId;
+        Set<String> members = redisTemplate.opsForSet().members(key);
+        if (!CollectionUtils.isEmpty(members)) {
+            return members.stream()
+                    .filter(member -> !SENTINEL.equals(member))
+                    .map(Long::valueOf)
+                    .collect(Collectors.toSet());
+        }
+        List<Long> tagIds = subscriptionRepository.findTagIdsByUserId(userId);
+        String[] values = Stream.concat(Stream.of(SENTINEL), tagIds.stream().map(String::valueOf))
+                .toArray(String[]::new);
+        redisTemplate.opsForSet().add(key, values);
+        redisTemplate.expire(key, TTL);
+        return new HashSet<>(tagIds);
+    }
+
+    public void evict(Long userId) {
+        redisTemplate.delete(KEY_PREFIX + userId);
+    }
+}
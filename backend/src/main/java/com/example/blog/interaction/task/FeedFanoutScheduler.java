@@ -0,0 +1,37 @@
+package com.example.blog.interaction.task;
+
+import com.example.blog.common.service.ScheduledJobRunner;
+import com.example.blog.interaction.service.FeedFanoutQueue;
+import com.example.blog.interaction.service.FeedService;
+import java.time.Duration;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class FeedFanoutScheduler {
+
+    private static final String JOB_NAME = "feed-fanout";
+    private static final int BATCH_SIZE = 20;
+
+    private final FeedFanoutQueue feedFanoutQueue;
+    private final FeedService feedService;
+    private final ScheduledJobRunner scheduledJobRunner;
+
+    /**
+     * 推送是幂等的（ZADD 同一成员只更新分数），处理完一批再确认，异常中断后整批重做即可。
+     */
+    @Scheduled(fixedDelay = 1000L)
+    public void fanOut() {
+        scheduledJobRunner.runExclusive(JOB_NAME, Duration.ofMinutes(5), Duration.ZERO, () -> {
+            List<String> postIds = feedFanoutQueue.peek(BATCH_SIZE);
+            while (!postIds.isEmpty()) {
+                postIds.forEach(postId -> feedService.fanOut(Long.valueOf(postId)));
+                feedFanoutQueue.ack(postIds.size());
+                postIds = postIds.size() < BATCH_SIZE ? List.of() : feedFanoutQueue.peek(BATCH_SIZE);
+            }
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.blog.interaction.task;
+
+import com.example.blog.common.service.ScheduledJobRunner;
+import com.example.blog.interaction.service.LikeCacheService;
+import com.example.blog.interaction.service.LikeSyncService;
+import java.time.Duration;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class LikeSyncScheduler {
+
+    private static final String LOCK_NAME = "like-sync";
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_BATCHES_PER_RUN = 200;
+
+    private final LikeCacheService likeCacheService;
+    private final LikeSyncService likeSyncService;
+    private final ScheduledJobRunner scheduledJobRunner;
+
+    @Scheduled(fixedDelay = 1000L)
+    public void flushLikeEvents() {
+        scheduledJobRunner.runExclusive("like-sync-flush", LOCK_NAME, Duration.ofMinutes(1), Duration.ZERO, () -> {
+            for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+                List<String> events = likeCacheService.peekEvents(BATCH_SIZE);
+                if (events.isEmpty()) {
+                    return;
+                }
+                likeSyncService.apply(events);
+                likeCacheService.ackEvents(events.size());
+                if (events.size() < BATCH_SIZE) {
+                    return;
+                }
+            }
+        });
+    }
+
+    /**
+     * 兜底修正 like_count 与 likes 表之间的漂移；只在队列清空时执行，避免与待落库的事件互相覆盖。
+     * 与落库共用一把锁，因此完成后立即释放，不做最短持有。
+     */
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void reconcileLikeCounts() {
+        scheduledJobRunner.runExclusive("like-reconcile", LOCK_NAME, Duration.ofMinutes(30), Duration.ZERO, () -> {
+            if (likeCacheService.pendingEvents() == 0) {
+                likeSyncService.reconcileLikeCounts();
+            }
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.blog.realtime.controller;
+
+import com.example.blog.common.exception.ResourceNotFoundException;
+import com.example.blog.content.repository.PostRepository;
+import com.example.blog.realtime.service.LiveEventHub;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * SSE 实时推送入口，事件名与 {@link com.example.blog.realtime.service.LiveEventPublisher} 中的类型一致。
+ */
+@RestController
+@RequiredArgsConstructor
+public class LiveController {
+
+    private final LiveEventHub liveEventHub;
+    private final PostRepository postRepository;
+
+    @GetMapping(value = "/posts/{postId}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter postEvents(@PathVariable Long postId, HttpServletResponse response) {
+        if (postRepository.findPublishedRefs(List.of(postId)).isEmpty()) {
+            throw new ResourceNotFoundException("文章不存在");
+        }
+        disableProxyBuffering(response);
+        return liveEventHub.subscribePost(postId);
+    }
+
+    @GetMapping(value = "/admin/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter adminEvents(HttpServletResponse response) {
+        disableProxyBuffering(response);
+        return liveEventHub.subscribeAdmin();
+    }
+
+    private void disableProxyBuffering(HttpServletResponse response) {
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("X-Accel-Buffering", "no");
+    }
+}
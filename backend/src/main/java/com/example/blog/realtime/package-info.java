@@ -0,0 +1,4 @@
+/**
+ * 实时推送模块：通过 SSE 向文章页和管理后台推送计数变化与新评论。
+ */
+package com.example.blog.realtime;
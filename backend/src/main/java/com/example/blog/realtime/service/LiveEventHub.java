@@ -0,0 +1,306 @@
+package com.example.blog.realtime.service;
+
+import com.example.blog.common.enums.ErrorCode;
+import com.example.blog.common.exception.BusinessException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 本节点所有 SSE 连接的注册表与分发器。
+ * <p>
+ * 每个节点只订阅一次 {@link #CHANNEL}，收到的事件序列化一次后按文章投递到对应连接。每个连接有一个
+ * 容量为 {@link #QUEUE_CAPACITY} 的发送队列，由少量分发线程写出，同一连接同一时刻只占用一个线程；
+ * 队列写满说明客户端读得太慢，直接断开该连接（浏览器的 EventSource 会自动重连），
+ * 不让慢客户端无限占用内存。写出是阻塞的，客户端不读取时 socket 缓冲区写满后会卡住分发线程，
+ * 卡住的时长由 Tomcat 的写超时（{@code server.tomcat.connection-timeout}）限定，超时后写出抛出异常；
+ * 单次写出超过 {@link #SEND_TIMEOUT} 的连接由 {@link #evictStalled()} 提前标记为关闭并丢弃队列，
+ * 卡住的写出结束后不再发送后续消息。
+ * <p>
+ * {@link SseEmitter#complete()} 与阻塞中的 {@code send()} 使用同一把锁，只能由分发线程调用：
+ * 其他线程关闭连接时只做标记，再调度一次分发，由分发线程结束连接。
+ * <p>
+ * 指标：{@code blog.live.connections}、{@code blog.live.evicted}。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LiveEventHub implements MessageListener {
+
+    public static final String CHANNEL = "channel:live-events";
+    private static final Duration EMITTER_TIMEOUT = Duration.ofMinutes(30);
+    private static final int MAX_CONNECTIONS = 5000;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final int DISPATCH_THREADS = 4;
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(5);
+
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, Set<LiveClient>> postClients = new ConcurrentHashMap<>();
+    private final Set<LiveClient> adminClients = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService dispatcher = Executors.newFixedThreadPool(DISPATCH_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "live-dispatch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Counter evicted;
+
+    @PostConstruct
+    public void subscribe() {
+        evicted = meterRegistry.counter("blog.live.evicted");
+        Gauge.builder("blog.live.connections", connections, AtomicInteger::get).register(meterRegistry);
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        postClients.values().forEach(clients -> clients.forEach(this::close));
+        adminClients.forEach(this::close);
+        // 让已调度的分发把连接结束掉
+        dispatcher.shutdown();
+    }
+
+    /**
+     * 订阅单篇文章的计数变化与新通过的评论。
+     */
+    public SseEmitter subscribePost(Long postId) {
+        LiveClient client = open(postId);
+        postClients.compute(postId, (key, clients) -> {
+            Set<LiveClient> target = clients != null ? clients : ConcurrentHashMap.newKeySet();
+            target.add(client);
+            return target;
+        });
+        if (client.closed.get()) {
+            // 注册前连接已结束，补做一次移除
+            postClients.computeIfPresent(postId, (key, clients) -> {
+                clients.remove(client);
+                return clients.isEmpty() ? null : clients;
+            });
+        }
+        return client.emitter;
+    }
+
+    /**
+     * 订阅全站事件，包括所有文章的计数变化和待审核评论。
+     */
+    public SseEmitter subscribeAdmin() {
+        LiveClient client = open(null);
+        adminClients.add(client);
+        return client.emitter;
+    }
+
+    /**
+     * 向所有连接发送注释行，及时发现已断开的连接，也防止代理因空闲关闭长连接。
+     */
+    public void heartbeat() {
+        postClients.values().forEach(clients -> clients.forEach(client -> offer(client, Frame.PING)));
+        adminClients.forEach(client -> offer(client, Frame.PING));
+    }
+
+    /**
+     * 把单次写出超过 {@link #SEND_TIMEOUT} 仍未完成的连接标记为关闭，写出超时后分发线程不再为它发送。
+     */
+    public void evictStalled() {
+        long now = System.nanoTime();
+        postClients.values().forEach(clients -> clients.forEach(client -> evictIfStalled(client, now)));
+        adminClients.forEach(client -> evictIfStalled(client, now));
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        JsonNode event;
+        try {
+            event = objectMapper.readTree(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            log.warn("忽略无法解析的实时事件: {}", ex.getMessage());
+            return;
+        }
+        String type = event.path("type").asText();
+        JsonNode payload = event.path("payload");
+        Frame frame = new Frame(type, payload.toString());
+        adminClients.forEach(client -> offer(client, frame));
+        if (LiveEventPublisher.TYPE_COUNTERS.equals(type)) {
+            // 文章页只关心本篇文章的那一项
+            for (JsonNode delta : payload) {
+                deliver(delta.path("postId").asLong(), new Frame(type, delta.toString()));
+            }
+        } else if (LiveEventPublisher.TYPE_COMMENT.equals(type)) {
+            deliver(event.path("postId").asLong(), frame);
+        }
+    }
+
+    private LiveClient open(Long postId) {
+        if (connections.incrementAndGet() > MAX_CONNECTIONS) {
+            connections.decrementAndGet();
+            throw new BusinessException(ErrorCode.TOO_MANY_REQUESTS, "实时连接数已达上限，请稍后再试");
+        }
+        LiveClient client = new LiveClient(postId, new SseEmitter(EMITTER_TIMEOUT.toMillis()));
+        client.emitter.onCompletion(() -> remove(client));
+        client.emitter.onTimeout(() -> remove(client));
+        client.emitter.onError(ex -> remove(client));
+        // 立即写出一行，让代理和浏览器尽快确认连接建立
+        offer(client, Frame.PING);
+        return client;
+    }
+
+    private void deliver(long postId, Frame frame) {
+        Set<LiveClient> clients = postClients.get(postId);
+        if (clients != null) {
+            clients.forEach(client -> offer(client, frame));
+        }
+    }
+
+    private void offer(LiveClient client, Frame frame) {
+        if (client.closed.get()) {
+            return;
+        }
+        if (!client.queue.offer(frame)) {
+            evicted.increment();
+            close(client);
+            return;
+        }
+        schedule(client);
+    }
+
+    private void schedule(LiveClient client) {
+        if (client.scheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(client));
+            } catch (RejectedExecutionException ex) {
+                client.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(LiveClient client) {
+        try {
+            Frame frame;
+            while (!client.closed.get() && (frame = client.queue.poll()) != null) {
+                client.sendStartedAt = System.nanoTime();
+                client.emitter.send(frame.name == null
+                        ? SseEmitter.event().comment(frame.data)
+                        : SseEmitter.event().name(frame.name).data(frame.data));
+                client.sendStartedAt = 0L;
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // 客户端已断开、连接已结束或写出超时
+            remove(client);
+        } finally {
+            client.sendStartedAt = 0L;
+            client.scheduled.set(false);
+        }
+        if (client.closed.get()) {
+            complete(client);
+        } else if (!client.queue.isEmpty()) {
+            schedule(client);
+        }
+    }
+
+    private void evictIfStalled(LiveClient client, long now) {
+        long startedAt = client.sendStartedAt;
+        if (startedAt == 0L || now - startedAt < SEND_TIMEOUT.toNanos() || client.closed.get()) {
+            return;
+        }
+        evicted.increment();
+        close(client);
+    }
+
+    /**
+     * 标记关闭并调度一次分发；若分发线程正卡在写出中，调度不会重复提交，由它在写出结束后结束连接。
+     */
+    private void close(LiveClient client) {
+        remove(client);
+        schedule(client);
+    }
+
+    /**
+     * 只在分发线程上调用，此时没有进行中的 {@code send()}。
+     */
+    private void complete(LiveClient client) {
+        try {
+            client.emitter.complete();
+        } catch (RuntimeException ignored) {
+            // 连接已结束
+        }
+    }
+
+    private void remove(LiveClient client) {
+        if (!client.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connections.decrementAndGet();
+        client.queue.clear();
+        if (client.postId == null) {
+            adminClients.remove(client);
+        } else {
+            postClients.computeIfPresent(client.postId, (key, clients) -> {
+                clients.remove(client);
+                return clients.isEmpty() ? null : clients;
+            });
+        }
+    }
+
+    private static class LiveClient {
+
+        private final Long postId;
+        private final SseEmitter emitter;
+        private final Queue<Frame> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        /** 当前写出开始的 {@link System#nanoTime()}，未在写出时为 0 */
+        private volatile long sendStartedAt;
+
+        private LiveClient(Long postId, SseEmitter emitter) {
+            this.postId = postId;
+            this.emitter = emitter;
+        }
+    }
+
+    /**
+     * 一条待发送的 SSE 消息，{@code name} 为空时作为注释行发送。
+     */
+    private static class Frame {
+
+        private static final Frame PING = new Frame(null, "ping");
+
+        private final String name;
+        private final String data;
+
+        private Frame(String name, String data) {
+            this.name = name;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.blog.realtime.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 向 {@link LiveEventHub#CHANNEL} 发布实时事件，由每个节点的 {@link LiveEventHub} 转发给各自的 SSE 连接。
+ * <p>
+ * 实时推送只是页面数据的增量补充，发布失败只记日志，不影响业务操作。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LiveEventPublisher {
+
+    /** 一批文章计数增量，payload 为 {@code [{postId, views, likes}]} */
+    public static final String TYPE_COUNTERS = "counters";
+    /** 评论审核通过，payload 为评论内容 */
+    public static final String TYPE_COMMENT = "comment";
+    /** 新评论待审核，只推送给管理后台 */
+    public static final String TYPE_COMMENT_PENDING = "comment-pending";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param postId 事件所属文章，为空表示涉及多篇文章
+     */
+    public void publish(String type, Long postId, Object payload) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", type);
+        message.put("postId", postId);
+        message.put("payload", payload);
+        try {
+            redisTemplate.convertAndSend(LiveEventHub.CHANNEL, objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException | RuntimeException ex) {
+            log.warn("发布实时事件 {} 失败: {}", type, ex.getMessage());
+        }
+    }
+
+    /**
+     * 在事务提交后发布，回滚时不发布；没有进行中的事务时立即发布。
+     */
+    public void publishAfterCommit(String type, Long postId, Object payload) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(type, postId, payload);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(type, postId, payload);
+            }
+        });
+    }
+}
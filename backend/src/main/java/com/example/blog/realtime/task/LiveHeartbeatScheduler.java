@@ -0,0 +1,28 @@
+package com.example.blog.realtime.task;
+
+import com.example.blog.common.service.ScheduledJobRunner;
+import com.example.blog.realtime.service.LiveEventHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class LiveHeartbeatScheduler {
+
+    private final LiveEventHub liveEventHub;
+    private final ScheduledJobRunner scheduledJobRunner;
+
+    /**
+     * 连接保存在每个节点的内存中，各节点都要执行。
+     */
+    @Scheduled(fixedDelay = 25_000L, initialDelay = 25_000L)
+    public void heartbeat() {
+        scheduledJobRunner.run("live-heartbeat", liveEventHub::heartbeat);
+    }
+
+    @Scheduled(fixedDelay = 1_000L, initialDelay = 1_000L)
+    public void evictStalled() {
+        scheduledJobRunner.run("live-evict-stalled", liveEventHub::evictStalled);
+    }
+}
@@ -0,0 +1,33 @@
+package db.migration;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * 审计日志按月分区，过期数据整区归档后 DROP PARTITION，不再逐行删除。
+ * <p>
+ * 分区表不支持外键，且分区键必须包含在每个唯一键中：去掉用户外键（被删用户的日志保留原用户 ID），
+ * 主键改为 (id, created_at)。现有数据落在 p_history，其上界取执行迁移时数据库所在日期的下月 1 日，
+ * 保证迁移完成时 p_future 为空；之后的月份分区由 AuditRetentionScheduler 从 p_future 中拆分出来，
+ * 拆分空分区只修改元数据。分区边界必须是常量，因此用 Java 迁移在执行时计算。
+ */
+public class V9__audit_logs_partitioning extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            String boundary;
+            try (ResultSet rs = statement.executeQuery("SELECT LAST_DAY(CURRENT_DATE) + INTERVAL 1 DAY")) {
+                rs.next();
+                boundary = rs.getString(1);
+            }
+            statement.execute("ALTER TABLE audit_logs DROP FOREIGN KEY fk_audit_logs_user");
+            statement.execute("ALTER TABLE audit_logs DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at)");
+            statement.execute("ALTER TABLE audit_logs PARTITION BY RANGE (TO_DAYS(created_at)) ("
+                    + "PARTITION p_history VALUES LESS THAN (TO_DAYS('" + boundary + "')), "
+                    + "PARTITION p_future VALUES LESS THAN MAXVALUE)");
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- 后台审计查询按 (created_at, id) 倒序游标分页，每个过滤条件都需要以该列开头、后接时间的索引，
+-- 才能沿索引直接读出一页而不排序。新索引覆盖了原来的 idx_audit_user 和 idx_audit_entity，一并删除以减少写入开销。
+-- 只按时间查询时使用已有的 idx_audit_created。
+ALTER TABLE audit_logs
+    ADD INDEX idx_audit_user_created (user_id, created_at, id),
+    ADD INDEX idx_audit_action_created (action, created_at, id),
+    ADD INDEX idx_audit_type_created (entity_type, created_at, id),
+    ADD INDEX idx_audit_entity_created (entity_type, entity_id, created_at, id),
+    DROP INDEX idx_audit_user,
+    DROP INDEX idx_audit_entity;
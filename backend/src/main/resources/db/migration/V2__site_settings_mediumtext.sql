@@ -0,0 +1,3 @@
+-- 敏感词词典存放在 site_settings 中，5 万词级别的词典会超出 TEXT 的 64KB 上限
+ALTER TABLE site_settings
+    MODIFY COLUMN setting_value MEDIUMTEXT DEFAULT NULL COMMENT '配置值';
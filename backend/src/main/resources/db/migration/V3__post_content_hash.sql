@@ -0,0 +1,3 @@
+-- 原始正文的 SHA-256，正文未变化时跳过重新清洗
+ALTER TABLE posts
+    ADD COLUMN content_hash CHAR(64) DEFAULT NULL COMMENT '原始正文哈希' AFTER content;
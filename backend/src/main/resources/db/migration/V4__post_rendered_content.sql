@@ -0,0 +1,7 @@
+-- 保存时渲染 Markdown：content 为源文，content_html 为清洗后的 HTML，toc 为目录 JSON
+ALTER TABLE posts
+    ADD COLUMN content_html LONGTEXT DEFAULT NULL COMMENT '渲染后的正文HTML' AFTER content,
+    ADD COLUMN toc TEXT DEFAULT NULL COMMENT '目录JSON' AFTER content_html;
+
+-- 历史文章的 content 在保存时已清洗过，可直接作为渲染结果
+UPDATE posts SET content_html = content WHERE content_html IS NULL;
@@ -0,0 +1,3 @@
+-- “我的收藏 / 我的点赞”按 (created_at, id) 游标分页，需要以用户开头的时间索引
+ALTER TABLE favorites ADD INDEX idx_fav_user_created (user_id, created_at, id);
+ALTER TABLE likes ADD INDEX idx_like_user_created (user_id, created_at, id);
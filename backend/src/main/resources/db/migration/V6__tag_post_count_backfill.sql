@@ -0,0 +1,8 @@
+-- post_count 此前从未维护，按已发布且未删除的文章一次性回填，此后由应用增量维护
+UPDATE tags t
+LEFT JOIN (SELECT pt.tag_id, COUNT(*) AS total
+           FROM post_tags pt
+           JOIN posts p ON p.id = pt.post_id
+           WHERE p.deleted_at IS NULL AND LOWER(p.status) = 'published'
+           GROUP BY pt.tag_id) c ON c.tag_id = t.id
+SET t.post_count = COALESCE(c.total, 0);
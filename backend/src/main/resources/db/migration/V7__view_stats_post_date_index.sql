@@ -0,0 +1,2 @@
+-- 单篇文章的每日趋势按 post_id 查询一段日期，唯一键以 stat_date 开头无法覆盖
+ALTER TABLE view_stats ADD INDEX idx_view_stats_post_date (post_id, stat_date);
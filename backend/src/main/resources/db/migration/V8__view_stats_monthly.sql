@@ -0,0 +1,15 @@
+-- 站点访问按月汇总：PV 为当月日汇总之和，UV 为当月 HyperLogLog 合并后的基数（不能由日 UV 相加得到）
+CREATE TABLE IF NOT EXISTS view_stats_monthly (
+    id BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY COMMENT '统计ID',
+    stat_month DATE NOT NULL COMMENT '统计月份（当月1日）',
+    page_views BIGINT UNSIGNED NOT NULL DEFAULT 0 COMMENT 'PV',
+    unique_visitors BIGINT UNSIGNED NOT NULL DEFAULT 0 COMMENT 'UV',
+    UNIQUE KEY uk_view_stats_monthly_month (stat_month)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='月访问统计表';
+
+-- 回填已有的日汇总：PV 直接相加；历史日 UV 的访客集合已不存在，只能取当月最大的日 UV 作为下限估计
+INSERT INTO view_stats_monthly (stat_month, page_views, unique_visitors)
+SELECT DATE_FORMAT(stat_date, '%Y-%m-01'), SUM(page_views), MAX(unique_visitors)
+FROM view_stats
+WHERE post_id IS NULL
+GROUP BY DATE_FORMAT(stat_date, '%Y-%m-01');
@@ -0,0 +1,87 @@
+package com.example.blog.analytics.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.blog.analytics.config.AnalyticsProperties;
+import com.example.blog.analytics.service.ViewEventPipeline.ViewEvent;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class ViewEventSpoolTest {
+
+    private static final LocalDateTime VIEWED_AT = LocalDateTime.of(2024, 1, 15, 9, 30, 12);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysEventsAcrossSegmentsInOrderAndDeletesReplayedFiles() throws Exception {
+        ViewEventSpool spool = newSpool(DataSize.ofBytes(256), 32);
+        List<ViewEvent> events = IntStream.range(0, 20)
+                .mapToObj(i -> new ViewEvent((long) i, "ip:10.0.0." + i, VIEWED_AT.plusSeconds(i)))
+                .toList();
+        assertThat(spool.append(events)).isEqualTo(20);
+        assertThat(spool.segmentCount()).isGreaterThan(1);
+
+        List<ViewEvent> replayed = drain(spool);
+
+        assertThat(replayed).extracting(ViewEvent::getPostId)
+                .containsExactlyElementsOf(events.stream().map(ViewEvent::getPostId).toList());
+        assertThat(replayed.get(19).getViewedAt()).isEqualTo(VIEWED_AT.plusSeconds(19));
+        assertThat(spool.hasPending()).isFalse();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void recoversUnreplayedSegmentsAfterRestart() throws Exception {
+        ViewEventSpool spool = newSpool(DataSize.ofKilobytes(4), 32);
+        spool.append(List.of(new ViewEvent(1L, "user:7", VIEWED_AT), new ViewEvent(2L, "user:8", VIEWED_AT)));
+        spool.close();
+
+        ViewEventSpool restarted = newSpool(DataSize.ofKilobytes(4), 32);
+
+        assertThat(drain(restarted)).extracting(ViewEvent::getVisitor).containsExactly("user:7", "user:8");
+    }
+
+    @Test
+    void dropsEventsOnceSegmentLimitIsReached() throws Exception {
+        ViewEventSpool spool = newSpool(DataSize.ofBytes(64), 2);
+        List<ViewEvent> events = IntStream.range(0, 10)
+                .mapToObj(i -> new ViewEvent((long) i, "user:" + i, VIEWED_AT))
+                .toList();
+
+        int written = spool.append(events);
+
+        assertThat(written).isLessThan(10);
+        assertThat(drain(spool)).hasSize(written);
+    }
+
+    private ViewEventSpool newSpool(DataSize segmentSize, int maxSegments) throws Exception {
+        AnalyticsProperties properties = new AnalyticsProperties();
+        properties.getSpool().setDir(directory.toString());
+        properties.getSpool().setSegmentSize(segmentSize);
+        properties.getSpool().setMaxSegments(maxSegments);
+        ViewEventSpool spool = new ViewEventSpool(properties);
+        spool.init();
+        return spool;
+    }
+
+    private List<ViewEvent> drain(ViewEventSpool spool) {
+        List<ViewEvent> replayed = new ArrayList<>();
+        while (spool.hasPending()) {
+            replayed.addAll(spool.peek(3));
+            spool.ack();
+        }
+        return replayed;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.blog.benchmark;
+
+import com.example.blog.common.util.ContentSanitizer;
+import com.example.blog.common.util.HashUtils;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.jsoup.Jsoup;
+import org.jsoup.safety.Safelist;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 对比旧的 {@code Jsoup.clean(raw, Safelist.relaxed())}、共享策略的 {@link ContentSanitizer}
+ * （大文档走分段清洗）以及正文未变化时只计算哈希的快速路径。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentSanitizerBenchmark {
+
+    @Param({"10240", "307200"})
+    private int bodyLength;
+
+    private String body;
+    private String storedHash;
+    private ContentSanitizer sanitizer;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        StringBuilder html = new StringBuilder(bodyLength + 1024);
+        int block = 0;
+        while (html.length() < bodyLength) {
+            switch (block++ % 5) {
+                case 0 -> html.append("<h2 id=\"s").append(block).append("\">章节 ").append(block).append("</h2>");
+                case 1 -> html.append("<ul><li>第一项 <code>x &lt; y</code></li><li><a href=\"https://example.com\" ")
+                        .append("onclick=\"alert(1)\">链接</a></li></ul>");
+                case 2 -> html.append("<pre><code>for (int i = 0; i &lt; n; i++) { sum += i; }</code></pre>");
+                case 3 -> html.append("<script>document.write('x')</script><img src=\"/a.png\" onerror=\"x()\">");
+                default -> {
+                    html.append("<p>");
+                    for (int i = 0; i < 60; i++) {
+                        html.append((char) (0x4E00 + random.nextInt(3000)));
+                    }
+                    html.append(" <strong>重点</strong> some english text.</p>");
+                }
+            }
+        }
+        body = html.toString();
+        storedHash = HashUtils.sha256Hex(body);
+        sanitizer = new ContentSanitizer();
+    }
+
+    @Benchmark
+    public String legacyJsoupClean() {
+        return Jsoup.clean(body, Safelist.relaxed());
+    }
+
+    @Benchmark
+    public String sharedPolicySanitize() {
+        return sanitizer.sanitize(body);
+    }
+
+    @Benchmark
+    public boolean unchangedContentHashOnly() {
+        return storedHash.equals(HashUtils.sha256Hex(body));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ContentSanitizerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.blog.benchmark;
+
+import com.example.blog.common.util.SensitiveWordMatcher;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 对比旧的 {@code toLowerCase + contains} 逐词扫描与 Aho-Corasick 自动机在 200KB 正文上的耗时。
+ * <p>
+ * 正文保证不命中任何敏感词，即两种实现都必须扫描完整文本（发布文章时的常见情况）。
+ * 运行：{@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.blog.benchmark.SensitiveWordMatcherBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SensitiveWordMatcherBenchmark {
+
+    private static final int BODY_LENGTH = 200 * 1024;
+
+    @Param({"10", "1000", "50000"})
+    private int dictionarySize;
+
+    private List<String> dictionary;
+    private String body;
+    private SensitiveWordMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(BODY_LENGTH);
+        while (text.length() < BODY_LENGTH) {
+            int roll = random.nextInt(10);
+            if (roll < 6) {
+                text.append(randomHan(random));
+            } else if (roll < 9) {
+                text.append((char) ('a' + random.nextInt(26)));
+            } else {
+                text.append(' ');
+            }
+        }
+        body = text.toString();
+
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < dictionarySize) {
+            int length = 2 + random.nextInt(3);
+            StringBuilder word = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                word.append(randomHan(random));
+            }
+            words.add(word.toString());
+        }
+        // 剔除碰巧出现在正文中的词，保证两种实现都扫描完整正文
+        Set<String> hits = new HashSet<>();
+        SensitiveWordMatcher.compile(words).findAll(body).forEach(match -> hits.add(match.getWord()));
+        words.removeAll(hits);
+        dictionary = new ArrayList<>(words);
+        matcher = SensitiveWordMatcher.compile(dictionary);
+    }
+
+    @Benchmark
+    public boolean legacyLowerCaseContains() {
+        String lower = body.toLowerCase();
+        for (String word : dictionary) {
+            if (lower.contains(word.toLowerCase())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean ahoCorasick() {
+        return matcher.containsAny(body);
+    }
+
+    @Benchmark
+    public SensitiveWordMatcher compileDictionary() {
+        return SensitiveWordMatcher.compile(dictionary);
+    }
+
+    private static char randomHan(Random random) {
+        return (char) (0x4E00 + random.nextInt(3000));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SensitiveWordMatcherBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
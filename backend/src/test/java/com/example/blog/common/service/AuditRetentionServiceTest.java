@@ -0,0 +1,34 @@
+package com.example.blog.common.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.blog.common.repository.AuditArchiveRepository.AuditPartition;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AuditRetentionServiceTest {
+
+    @Test
+    void plansMonthsAfterHighestBoundUpToLookahead() {
+        List<AuditPartition> partitions = AuditRetentionService.planMonthlyPartitions(
+                LocalDate.of(2026, 11, 1), YearMonth.of(2026, 10), 3);
+
+        assertThat(partitions).extracting(AuditPartition::getName).containsExactly("p202611", "p202612", "p202701");
+        assertThat(partitions).extracting(AuditPartition::getUpperBound).containsExactly(
+                LocalDate.of(2026, 12, 1), LocalDate.of(2027, 1, 1), LocalDate.of(2027, 2, 1));
+    }
+
+    @Test
+    void plansNothingWhenPartitionsAlreadyCoverLookahead() {
+        assertThat(AuditRetentionService.planMonthlyPartitions(
+                LocalDate.of(2027, 2, 1), YearMonth.of(2026, 10), 3)).isEmpty();
+    }
+
+    @Test
+    void startsFromCurrentMonthWhenOnlyMaxValuePartitionExists() {
+        assertThat(AuditRetentionService.planMonthlyPartitions(null, YearMonth.of(2026, 10), 1))
+                .extracting(AuditPartition::getName).containsExactly("p202610", "p202611");
+    }
+}
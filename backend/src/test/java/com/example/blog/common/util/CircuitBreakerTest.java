@@ -0,0 +1,49 @@
+package com.example.blog.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.blog.common.util.CircuitBreaker.State;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker breaker =
+            new CircuitBreaker(3, Duration.ofSeconds(10), Duration.ofMillis(500), clock::get);
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRecoversThroughSingleTrial() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onFailure();
+        }
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        clock.set(Duration.ofSeconds(10).toMillis());
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        breaker.onSuccess(Duration.ofMillis(5).toNanos());
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void slowCallsCountAsFailuresAndFailedTrialReopens() {
+        for (int i = 0; i < 3; i++) {
+            breaker.tryAcquire();
+            breaker.onSuccess(Duration.ofSeconds(1).toNanos());
+        }
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+
+        clock.set(Duration.ofSeconds(11).toMillis());
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.blog.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.jsoup.Jsoup;
+import org.jsoup.safety.Safelist;
+import org.junit.jupiter.api.Test;
+
+class ContentSanitizerTest {
+
+    private final ContentSanitizer sanitizer = new ContentSanitizer();
+
+    @Test
+    void smallContentMatchesJsoupClean() {
+        String raw = "<p onclick=\"x()\">hi <a href=\"https://example.com\">link</a></p><script>alert(1)</script>";
+
+        assertThat(sanitizer.sanitize(raw)).isEqualTo(Jsoup.clean(raw, Safelist.relaxed()));
+    }
+
+    @Test
+    void largeContentIsCleanedInSegmentsWithSameResult() {
+        StringBuilder raw = new StringBuilder();
+        int index = 0;
+        while (raw.length() <= ContentSanitizer.STREAMING_THRESHOLD * 3) {
+            raw.append("<ul><li>item ").append(index).append(" a < b</li></ul>")
+                    .append("<!-- <p> in comment --><script>if (a < b) { x('</p>'); }</script>")
+                    .append("<p title=\"a > b\" onmouseover=\"x()\">para ").append(index++).append("<br></p>");
+        }
+
+        String streamed = sanitizer.sanitize(raw.toString());
+        String full = Jsoup.clean(raw.toString(), Safelist.relaxed());
+
+        assertThat(streamed).doesNotContain("script", "onmouseover", "<!--");
+        assertThat(Jsoup.parseBodyFragment(streamed).body().select("li")).hasSize(index);
+        assertThat(Jsoup.parseBodyFragment(streamed).text()).isEqualTo(Jsoup.parseBodyFragment(full).text());
+    }
+
+    @Test
+    void longPlainTextIsNotSplitInsideWordsOrEntities() {
+        StringBuilder raw = new StringBuilder();
+        int index = 0;
+        while (raw.length() <= ContentSanitizer.STREAMING_THRESHOLD * 10) {
+            raw.append("word").append(index++).append(" &amp;&#169;&copy; ");
+        }
+
+        String streamed = sanitizer.sanitize(raw.toString());
+        String full = Jsoup.clean(raw.toString(), Safelist.relaxed());
+
+        assertThat(Jsoup.parseBodyFragment(streamed).text()).isEqualTo(Jsoup.parseBodyFragment(full).text());
+    }
+}
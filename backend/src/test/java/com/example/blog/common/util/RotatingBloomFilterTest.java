@@ -0,0 +1,52 @@
+package com.example.blog.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class RotatingBloomFilterTest {
+
+    @Test
+    void remembersValuesForOneToTwoWindows() {
+        AtomicLong clock = new AtomicLong();
+        RotatingBloomFilter filter = new RotatingBloomFilter(1000, 0.01, Duration.ofMinutes(30), clock::get);
+
+        assertThat(filter.checkAndPut("1|user:7")).isFalse();
+        assertThat(filter.checkAndPut("1|user:7")).isTrue();
+        assertThat(filter.checkAndPut("2|user:7")).isFalse();
+
+        clock.set(Duration.ofMinutes(31).toMillis());
+        assertThat(filter.mightContain("1|user:7")).isTrue();
+
+        clock.set(Duration.ofMinutes(62).toMillis());
+        assertThat(filter.checkAndPut("1|user:7")).isFalse();
+    }
+
+    @Test
+    void forgetsEverythingAfterLongIdlePeriod() {
+        AtomicLong clock = new AtomicLong();
+        RotatingBloomFilter filter = new RotatingBloomFilter(1000, 0.01, Duration.ofMinutes(30), clock::get);
+        filter.checkAndPut("1|ip:10.0.0.1");
+
+        clock.set(Duration.ofHours(3).toMillis());
+
+        assertThat(filter.mightContain("1|ip:10.0.0.1")).isFalse();
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredValue() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(10_000, 0.01, Duration.ofMinutes(30), () -> 0L);
+        for (int i = 0; i < 10_000; i++) {
+            filter.checkAndPut("post|" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other|" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.blog.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.blog.common.util.SensitiveWordMatcher.Match;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SensitiveWordMatcherTest {
+
+    @Test
+    void reportsOverlappingMatchesWithOriginalPositions() {
+        SensitiveWordMatcher matcher = SensitiveWordMatcher.compile(List.of("he", "she", "his", "hers"));
+
+        List<Match> matches = matcher.findAll("ushers");
+
+        assertThat(matches).extracting(Match::getWord).containsExactly("she", "he", "hers");
+        assertThat(matches).extracting(Match::getStart).containsExactly(1, 2, 2);
+        assertThat(matches).extracting(Match::getEnd).containsExactly(4, 4, 6);
+    }
+
+    @Test
+    void foldsCaseAndFullWidthCharacters() {
+        SensitiveWordMatcher matcher = SensitiveWordMatcher.compile(List.of("Spam", "赌博"));
+
+        assertThat(matcher.findFirst("买 ＳＰＡＭ 了")).extracting(Match::getWord, Match::getStart)
+                .containsExactly("Spam", 2);
+        assertThat(matcher.containsAny("网上赌博平台")).isTrue();
+        assertThat(matcher.containsAny("正常的技术文章 spa m")).isFalse();
+    }
+
+    @Test
+    void emptyDictionaryNeverMatches() {
+        assertThat(SensitiveWordMatcher.compile(List.of(" ", "")).containsAny("anything")).isFalse();
+        assertThat(SensitiveWordMatcher.empty().findAll("anything")).isEmpty();
+    }
+}
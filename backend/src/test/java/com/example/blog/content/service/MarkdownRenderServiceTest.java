@@ -0,0 +1,47 @@
+package com.example.blog.content.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.blog.common.util.ContentSanitizer;
+import com.example.blog.content.dto.TocEntry;
+import com.example.blog.content.service.MarkdownRenderService.RenderedContent;
+import org.junit.jupiter.api.Test;
+
+class MarkdownRenderServiceTest {
+
+    private final MarkdownRenderService renderService = new MarkdownRenderService(new ContentSanitizer());
+
+    @Test
+    void rendersSanitizedHtmlWithTableOfContents() {
+        String source = """
+                # 缓存 设计
+
+                正文 <script>alert(1)</script> with `code`.
+
+                ## Redis Keys
+
+                ```java
+                int x = 1;
+                ```
+
+                ## Redis Keys
+                """;
+
+        RenderedContent rendered = renderService.render(source);
+
+        assertThat(rendered.getHtml())
+                .contains("<h1 id=\"h-缓存-设计\">", "<h2 id=\"h-redis-keys\">", "<h2 id=\"h-redis-keys-1\">")
+                .contains("<code class=\"language-java\">")
+                .doesNotContain("<script");
+        assertThat(rendered.getToc()).extracting(TocEntry::getAnchor)
+                .containsExactly("h-缓存-设计", "h-redis-keys", "h-redis-keys-1");
+        assertThat(rendered.getReadingTime()).isEqualTo(1);
+    }
+
+    @Test
+    void estimatesReadingTimeFromCjkCharactersAndWords() {
+        String source = "字".repeat(800) + "\n\n" + "word ".repeat(200);
+
+        assertThat(renderService.render(source).getReadingTime()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.blog.content.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.blog.content.repository.PostCounterRepository;
+import com.example.blog.content.service.PostCounterService.CounterDelta;
+import com.example.blog.realtime.service.LiveEventPublisher;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class PostCounterServiceTest {
+
+    private static final long POST_ID = 42L;
+    private static final LiveEventPublisher NO_OP_PUBLISHER = new LiveEventPublisher(null, null) {
+        @Override
+        public void publish(String type, Long postId, Object payload) {
+        }
+    };
+
+    @Test
+    void concurrentIncrementsOnOnePostAreNotLost() throws Exception {
+        RecordingRepository repository = new RecordingRepository();
+        PostCounterService service = new PostCounterService(repository, NO_OP_PUBLISHER);
+        int threads = 32;
+        int perThread = 20_000;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (writing.get()) {
+                service.flush();
+            }
+        });
+        flusher.start();
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    service.addViews(POST_ID, 1L);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        writing.set(false);
+        flusher.join();
+        service.flush();
+
+        assertEquals((long) threads * perThread, repository.views.get());
+        assertEquals(0, repository.duplicateUpdates.get());
+    }
+
+    @Test
+    void failedFlushKeepsDeltasForNextRound() {
+        RecordingRepository repository = new RecordingRepository();
+        PostCounterService service = new PostCounterService(repository, NO_OP_PUBLISHER);
+        service.addViews(POST_ID, 3L);
+        repository.failNext.set(true);
+
+        assertThrows(IllegalStateException.class, service::flush);
+        assertEquals(1, service.flush());
+        assertEquals(3L, repository.views.get());
+    }
+
+    private static class RecordingRepository extends PostCounterRepository {
+
+        private final AtomicLong views = new AtomicLong();
+        private final AtomicInteger duplicateUpdates = new AtomicInteger();
+        private final AtomicBoolean failNext = new AtomicBoolean();
+
+        RecordingRepository() {
+            super(null);
+        }
+
+        @Override
+        public void applyDeltas(List<CounterDelta> deltas) {
+            if (failNext.getAndSet(false)) {
+                throw new IllegalStateException("db down");
+            }
+            Set<Long> seen = new HashSet<>();
+            for (CounterDelta delta : deltas) {
+                if (!seen.add(delta.getPostId())) {
+                    duplicateUpdates.incrementAndGet();
+                }
+                views.addAndGet(delta.getViews());
+            }
+        }
+    }
+}
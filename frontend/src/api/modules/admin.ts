@@ -1,5 +1,6 @@
 import { request } from '@/api/http';
-import type { PageResult } from '@/types/api';
+import type { CursorResult, PageResult } from '@/types/api';
+import type { AuditLogFilter, AuditLogItem } from '@/types/audit';
 import type { CommentModerationItem } from '@/types/comment';
 
 export const adminApi = {
@@ -27,5 +28,12 @@ export const adminApi = {
       url: `/admin/comments/${id}`,
       method: 'DELETE'
     });
+  },
+  fetchAuditLogs(params: AuditLogFilter) {
+    return request<CursorResult<AuditLogItem>>({
+      url: '/admin/audit',
+      method: 'GET',
+      params
+    });
   }
 };
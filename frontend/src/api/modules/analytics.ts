@@ -1,5 +1,5 @@
 import { request } from '@/api/http';
-import type { AnalyticsOverview } from '@/types/analytics';
+import type { AnalyticsOverview, DailyViewStat, HotPost, SeriesGranularity, TrendingWindow, ViewSeries } from '@/types/analytics';
 
 export const analyticsApi = {
   fetchOverview() {
@@ -7,5 +7,26 @@ export const analyticsApi = {
       url: '/admin/analytics/overview',
       method: 'GET'
     });
+  },
+  fetchPostDaily(postId: number, from: string, to: string) {
+    return request<DailyViewStat[]>({
+      url: `/admin/analytics/posts/${postId}/daily`,
+      method: 'GET',
+      params: { from, to }
+    });
+  },
+  fetchSeries(from: string, to: string, granularity?: SeriesGranularity) {
+    return request<ViewSeries>({
+      url: '/admin/analytics/series',
+      method: 'GET',
+      params: { from, to, granularity }
+    });
+  },
+  fetchTrending(window: TrendingWindow = 'DAY', limit = 10) {
+    return request<HotPost[]>({
+      url: '/admin/analytics/trending',
+      method: 'GET',
+      params: { window, limit }
+    });
   }
 };
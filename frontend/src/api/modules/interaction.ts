@@ -1,4 +1,6 @@
 import { request } from '@/api/http';
+import type { CursorResult } from '@/types/api';
+import type { PostSummary } from '@/types/post';
 
 export interface InteractionResult {
   active: boolean;
@@ -9,7 +11,20 @@ export interface SubscriptionResult {
   subscribed: boolean;
 }
 
+export interface PostInteractionState {
+  postId: number;
+  liked: boolean;
+  favorited: boolean;
+}
+
 export const interactionApi = {
+  fetchStates(ids: number[]) {
+    return request<PostInteractionState[]>({
+      url: '/posts/interactions',
+      method: 'GET',
+      params: { ids: ids.join(',') }
+    });
+  },
   toggleLike(postId: number) {
     return request<InteractionResult>({
       url: `/posts/${postId}/like`,
@@ -22,6 +37,27 @@ export const interactionApi = {
       method: 'POST'
     });
   },
+  fetchMyFavorites(params: { cursor?: string; size?: number } = {}) {
+    return request<CursorResult<PostSummary>>({
+      url: '/me/favorites',
+      method: 'GET',
+      params
+    });
+  },
+  fetchMyLikes(params: { cursor?: string; size?: number } = {}) {
+    return request<CursorResult<PostSummary>>({
+      url: '/me/likes',
+      method: 'GET',
+      params
+    });
+  },
+  fetchMyFeed(params: { cursor?: string; size?: number } = {}) {
+    return request<CursorResult<PostSummary>>({
+      url: '/me/feed',
+      method: 'GET',
+      params
+    });
+  },
   toggleTagSubscription(tagId: number) {
     return request<SubscriptionResult>({
       url: `/tags/${tagId}/subscribe`,
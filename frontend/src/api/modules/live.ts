@@ -0,0 +1,69 @@
+import type { CounterDelta, LiveHandlers } from '@/types/live';
+import { getAccessToken } from '@/utils/token';
+
+const baseURL = import.meta.env.VITE_API_BASE_URL || '/api';
+
+function dispatch(handlers: LiveHandlers, event: string, data: string) {
+  const payload = JSON.parse(data);
+  if (event === 'counters') {
+    // 文章页收到单个增量，管理后台收到一批
+    handlers.onCounters?.((Array.isArray(payload) ? payload : [payload]) as CounterDelta[]);
+  } else if (event === 'comment') {
+    handlers.onComment?.(payload);
+  } else if (event === 'comment-pending') {
+    handlers.onCommentPending?.(payload);
+  }
+}
+
+/**
+ * 订阅文章的实时计数和新评论，返回关闭函数；断线后浏览器自动重连。
+ */
+export function subscribePostLive(postId: number, handlers: LiveHandlers) {
+  const source = new EventSource(`${baseURL}/posts/${postId}/live`, { withCredentials: true });
+  ['counters', 'comment'].forEach((event) =>
+    source.addEventListener(event, (message) => dispatch(handlers, event, (message as MessageEvent).data))
+  );
+  return () => source.close();
+}
+
+/**
+ * 管理后台订阅全站事件。EventSource 无法携带 Authorization 头，这里用 fetch 读取事件流，断线 5 秒后重连。
+ */
+export function subscribeAdminLive(handlers: LiveHandlers) {
+  const controller = new AbortController();
+  const connect = async () => {
+    try {
+      const response = await fetch(`${baseURL}/admin/live`, {
+        headers: { Accept: 'text/event-stream', Authorization: `Bearer ${getAccessToken() ?? ''}` },
+        signal: controller.signal
+      });
+      const reader = response.body!.pipeThrough(new TextDecoderStream()).getReader();
+      let buffer = '';
+      for (;;) {
+        const { value, done } = await reader.read();
+        if (done) {
+          break;
+        }
+        buffer += value;
+        let boundary;
+        while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+          const block = buffer.slice(0, boundary);
+          buffer = buffer.slice(boundary + 2);
+          const lines = block.split('\n');
+          const event = lines.find((line) => line.startsWith('event:'))?.slice(6).trim();
+          const data = lines.filter((line) => line.startsWith('data:')).map((line) => line.slice(5)).join('\n');
+          if (event && data) {
+            dispatch(handlers, event, data);
+          }
+        }
+      }
+    } catch {
+      // 连接失败或被主动关闭
+    }
+    if (!controller.signal.aborted) {
+      setTimeout(connect, 5000);
+    }
+  };
+  connect();
+  return () => controller.abort();
+}
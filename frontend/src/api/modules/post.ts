@@ -23,6 +23,12 @@ export const postApi = {
       method: 'GET'
     });
   },
+  fetchPostForEdit(id: number) {
+    return request<PostDetail>({
+      url: `/posts/manage/${id}`,
+      method: 'GET'
+    });
+  },
   createPost(payload: PostPayload) {
     return request<PostDetail>({
       url: '/posts',
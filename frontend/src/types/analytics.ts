@@ -4,6 +4,8 @@ export interface AnalyticsOverview {
   publishedPosts: number;
   pendingComments: number;
   hotPosts: HotPost[];
+  generatedAt: string;
+  ageMillis: number;
 }
 
 export interface HotPost {
@@ -13,3 +15,24 @@ export interface HotPost {
   viewCount?: number;
   score: number;
 }
+
+export interface DailyViewStat {
+  date: string;
+  pageViews: number;
+  uniqueVisitors: number;
+}
+
+export type SeriesGranularity = 'HOUR' | 'DAY' | 'MONTH';
+
+export interface ViewSeries {
+  granularity: SeriesGranularity;
+  points: ViewSeriesPoint[];
+}
+
+export interface ViewSeriesPoint {
+  start: string;
+  pageViews: number;
+  uniqueVisitors: number;
+}
+
+export type TrendingWindow = 'HOUR' | 'DAY' | 'WEEK' | 'ALL';
@@ -11,3 +11,9 @@ export interface PageResult<T> {
   page: number;
   size: number;
 }
+
+export interface CursorResult<T> {
+  records: T[];
+  nextCursor?: string | null;
+  hasMore: boolean;
+}
@@ -0,0 +1,22 @@
+export interface AuditLogItem {
+  id: number;
+  userId?: number | null;
+  action: string;
+  entityType: string;
+  entityId: number;
+  changes?: unknown;
+  ipAddress?: string;
+  userAgent?: string;
+  createdAt: string;
+}
+
+export interface AuditLogFilter {
+  userId?: number;
+  action?: string;
+  entityType?: string;
+  entityId?: number;
+  from?: string;
+  to?: string;
+  cursor?: string;
+  size?: number;
+}
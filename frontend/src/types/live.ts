@@ -0,0 +1,18 @@
+import type { CommentItem } from '@/types/comment';
+
+export interface CounterDelta {
+  postId: number;
+  views: number;
+  likes: number;
+}
+
+export interface PendingComment {
+  commentId: number;
+  postId: number;
+}
+
+export interface LiveHandlers {
+  onCounters?: (deltas: CounterDelta[]) => void;
+  onComment?: (comment: CommentItem) => void;
+  onCommentPending?: (pending: PendingComment) => void;
+}
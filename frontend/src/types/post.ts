@@ -12,8 +12,17 @@ export interface PostSummary {
   likeCount?: number;
 }
 
+export interface TocEntry {
+  level: number;
+  anchor: string;
+  text: string;
+}
+
 export interface PostDetail extends PostSummary {
   content: string;
+  contentSource?: string;
+  toc?: TocEntry[];
+  readingTime?: number;
   viewCount?: number;
   likeCount?: number;
   commentCount?: number;
@@ -28,7 +37,6 @@ export interface PostPayload {
   content: string;
   coverUrl?: string;
   status: string;
-  readingTime?: number;
   seoKeywords?: string;
   tagIds?: number[];
 }